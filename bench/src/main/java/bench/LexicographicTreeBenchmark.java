@@ -0,0 +1,237 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import tree.LexicographicTree;
+
+/**
+ * JMH benchmarks of the operations of LexicographicTree, replacing the
+ * timing loops of LexicographicTree.testDictionaryPerformance. Each trial
+ * builds a dictionary of the requested size from a random sample of the
+ * word file, so the results of two sizes can be compared. The queries run
+ * one word per call, cycling over the words of the sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Dfile.encoding=UTF-8"})
+public class LexicographicTreeBenchmark {
+
+	/**
+	 * graine de l'échantillon, fixe pour que chaque fork ait les mêmes mots
+	 */
+	private static final long GRAINE = 42;
+
+	/**
+	 * longueur des préfixes passés à getWords(prefix)
+	 */
+	private static final int LONGUEUR_PREFIXE = 3;
+
+	/**
+	 * Word file, one word per line, relative to the directory the benchmarks
+	 * are started from.
+	 */
+	@Param({"../mots/dictionnaire_FR_avec_accents.txt"})
+	public String dictionary;
+
+	/**
+	 * Number of words sampled from the file, or "all" for the whole file.
+	 */
+	@Param({"10000", "100000", "all"})
+	public String size;
+
+	/**
+	 * Length passed to getWordsOfLength.
+	 */
+	@Param({"8"})
+	public int length;
+
+	private Path fichier;
+	private LexicographicTree dico;
+	/*
+	 * mots présents, les mêmes suivis de "xx" comme dans
+	 * testDictionaryPerformance, leur première moitié et leurs premières lettres
+	 */
+	private String[] presents;
+	private String[] absents;
+	private String[] moities;
+	private String[] debuts;
+	private int suivant;
+
+	/**
+	 * Samples the words, writes them to a temporary file for the load
+	 * benchmarks and builds the dictionary queried by the others.
+	 * @throws IOException If the word file cannot be read or the sample cannot be written
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		List<String> mots = Files.readAllLines(Paths.get(dictionary), StandardCharsets.UTF_8);
+		if(!"all".equals(size)) {
+			Collections.shuffle(mots, new Random(GRAINE));
+			mots = new ArrayList<>(mots.subList(0, Math.min(Integer.parseInt(size), mots.size())));
+		}
+		fichier = Files.createTempFile("dictionnaire", ".txt");
+		Files.write(fichier, mots, StandardCharsets.UTF_8);
+		dico = new LexicographicTree(fichier.toString());
+
+		// les requêtes suivent un ordre aléatoire pour ne pas parcourir l'arbre dans l'ordre
+		Collections.shuffle(mots, new Random(GRAINE + 1));
+		presents = new String[mots.size()];
+		absents = new String[mots.size()];
+		moities = new String[mots.size()];
+		debuts = new String[mots.size()];
+		for(int i = 0; i < mots.size(); i++) {
+			String mot = mots.get(i);
+			presents[i] = mot;
+			absents[i] = mot + "xx";
+			moities[i] = mot.substring(0, (mot.length() + 1) / 2);
+			debuts[i] = mot.substring(0, Math.min(LONGUEUR_PREFIXE, mot.length()));
+		}
+	}
+
+	/**
+	 * Deletes the temporary word file.
+	 * @throws IOException If the file cannot be deleted
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(fichier);
+	}
+
+	/**
+	 * Loads the sampled words from the file.
+	 * @return The dictionary
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public LexicographicTree load() {
+		return new LexicographicTree(fichier.toString());
+	}
+
+	/**
+	 * Loads the sampled words from the file on all cores.
+	 * @return The dictionary
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public LexicographicTree loadParallel() {
+		return new LexicographicTree(fichier.toString(), true);
+	}
+
+	/**
+	 * Searches a word of the dictionary.
+	 * @return True if the word is found
+	 */
+	@Benchmark
+	public boolean containsWordHit() {
+		return dico.containsWord(presents[prochain()]);
+	}
+
+	/**
+	 * Searches a word of the dictionary followed by "xx".
+	 * @return True if the word is found
+	 */
+	@Benchmark
+	public boolean containsWordMiss() {
+		return dico.containsWord(absents[prochain()]);
+	}
+
+	/**
+	 * Searches the first half of a word of the dictionary as a prefix.
+	 * @return True if the prefix is found
+	 */
+	@Benchmark
+	public boolean containsPrefix() {
+		return dico.containsPrefix(moities[prochain()]);
+	}
+
+	/**
+	 * Lists all the words of the dictionary.
+	 * @return The words
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public List<String> getWordsAll() {
+		return dico.getWords("");
+	}
+
+	/**
+	 * Lists the words starting with the first letters of a word of the dictionary.
+	 * @return The words
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public List<String> getWordsPrefix() {
+		return dico.getWords(debuts[prochain()]);
+	}
+
+	/**
+	 * Lists the words of the parameter length.
+	 * @return The words
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public List<String> getWordsOfLength() {
+		return dico.getWordsOfLength(length);
+	}
+
+	/**
+	 * Runs the benchmarks with the GC profiler, which adds the allocation
+	 * rate and the bytes allocated per operation to the results. Accepts
+	 * the usual JMH command line, for example a regular expression selecting
+	 * the benchmarks or -p size=10000.
+	 * @param args JMH command line options
+	 * @throws Exception If the options are invalid or a benchmark fails
+	 */
+	public static void main(String[] args) throws Exception {
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * retourne l'indice du mot à chercher et passe au suivant
+	 * @return indice dans les tableaux de requêtes
+	 */
+	private int prochain() {
+		int i = suivant;
+		suivant = i + 1 == presents.length ? 0 : i + 1;
+		return i;
+	}
+}
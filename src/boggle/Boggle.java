@@ -9,10 +9,13 @@ import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.SimpleGraph;
 
-import tree.LexicographicTree;
+import tree.DictionaryHandle;
+import tree.Lexicon;
+import tree.MappedLexicon;
+import tree.TrieCursor;
 
 public class Boggle {
-	private LexicographicTree dict;
+	private DictionaryHandle dict;
 	private Graph<DiceBoggle, DefaultEdge> graph;
 	
 	private static final String[] DICES = { "ETUKNO", "EVGTIN", "DECAMP", "IELRUW", "EHIFSE", "RECALS", "ENTDOS",
@@ -27,7 +30,16 @@ public class Boggle {
 	 * @param size The size of the squared grid
 	 * @param dict A dictionary of allowed words
 	 */
-	public Boggle(int size, LexicographicTree dict) {
+	public Boggle(int size, Lexicon dict) {
+		this(size, dict == null ? null : DictionaryHandle.of(dict));
+	}
+	
+	/**
+	 * Constructor : creates a Boggle grid filled with random letters.
+	 * @param size The size of the squared grid
+	 * @param dict A handle on the dictionary of allowed words, which may be reloaded between two searches
+	 */
+	public Boggle(int size, DictionaryHandle dict) {
 		if(size <= 0 || dict == null) 
 			throw new IllegalArgumentException();
 		
@@ -42,7 +54,17 @@ public class Boggle {
 	 * @param letters A string containing the (size x size) letters used to fill the grid
 	 * @param dict A dictionary of allowed words
 	 */
-	public Boggle(int size, String letters, LexicographicTree dict) {
+	public Boggle(int size, String letters, Lexicon dict) {
+		this(size, letters, dict == null ? null : DictionaryHandle.of(dict));
+	}
+	
+	/**
+	 * Constructor : creates a Boggle grid filled with the supplied letters.
+	 * @param size The size of the squared grid
+	 * @param letters A string containing the (size x size) letters used to fill the grid
+	 * @param dict A handle on the dictionary of allowed words, which may be reloaded between two searches
+	 */
+	public Boggle(int size, String letters, DictionaryHandle dict) {
 		if(size <= 0 || letters == null || size * size != letters.length() || dict == null) 
 			throw new IllegalArgumentException();
 		this.dict = dict;
@@ -113,14 +135,21 @@ public class Boggle {
 	
 	/**
 	 * Searches for words in the Boggle grid.
+	 * The whole search uses the dictionary current when it starts.
 	 * @return the set of found words
 	 */
 	public Set<String> solve() {
 		Set<String> solve = new TreeSet<>();
+		TrieCursor cursor = this.dict.current().cursor();
+		StringBuilder prefix = new StringBuilder();
 		for(DiceBoggle dice : this.graph.vertexSet()) {
-			String prefix = dice.getLetter();
-			DiceBoggle[] tab = addInTab(new DiceBoggle[0], dice);
-			checkPrefix(tab, solve, prefix, dice);
+			if(pushDice(cursor, dice)) {
+				prefix.append(dice.getLetter());
+				DiceBoggle[] tab = addInTab(new DiceBoggle[0], dice);
+				checkPrefix(tab, solve, cursor, prefix, dice);
+				prefix.setLength(0);
+				cursor.reset();
+			}
 		}
 		return solve;
 	}
@@ -155,33 +184,69 @@ public class Boggle {
 	 * 		tableau des dés parcouru
 	 * @param solve
 	 * 		ensemble des mots trouvés
+	 * @param cursor
+	 * 		curseur positionné sur le prefix
 	 * @param prefix
 	 * 		prefix du mot actuel
 	 * @param dice
 	 * 		dé courant
-	 * @return
 	 */
-	private void checkPrefix(DiceBoggle[] parcouru, Set<String> solve, String prefix, DiceBoggle dice) {
+	private void checkPrefix(DiceBoggle[] parcouru, Set<String> solve, TrieCursor cursor, StringBuilder prefix, DiceBoggle dice) {
 		for(DefaultEdge edge : this.graph.incomingEdgesOf(dice)) {
 			DiceBoggle target = this.graph.getEdgeTarget(edge) != dice ? 
 					this.graph.getEdgeTarget(edge) : this.graph.getEdgeSource(edge);
-			if(!containsInTab(parcouru, target) && this.dict.containsPrefix(prefix + target.getLetter())) {
-				prefix += target.getLetter();
+			if(!containsInTab(parcouru, target) && pushDice(cursor, target)) {
+				prefix.append(target.getLetter());
 				parcouru = addInTab(parcouru, dice);
-				if(prefix.length() > 2 && this.dict.containsWord(prefix)) 
-					solve.add(prefix);
+				if(prefix.length() > 2 && cursor.isWord()) 
+					solve.add(prefix.toString());
 				
-				checkPrefix(parcouru, solve, prefix, target);
-				if(prefix.substring(prefix.length()-2).equals("QU")) {
-					prefix = prefix.substring(0, prefix.length()-2);
-				}else {
-					prefix = prefix.substring(0, prefix.length()-1);
-				}
+				if(cursor.hasChildren()) 
+					checkPrefix(parcouru, solve, cursor, prefix, target);
+				prefix.setLength(prefix.length() - target.getLetter().length());
+				popDice(cursor, target);
 				parcouru = Arrays.copyOf(parcouru, parcouru.length - 1);
 			}
 		}
 	}
 	
+	/**
+	 * avance le curseur des lettres du dé
+	 * @param cursor
+	 * 		curseur dans le dictionnaire
+	 * @param dice
+	 * 		dé à ajouter au prefix
+	 * @return true si un mot commence par le nouveau prefix, 
+	 * 		sinon le curseur n'a pas bougé
+	 */
+	private boolean pushDice(TrieCursor cursor, DiceBoggle dice) {
+		String letter = dice.getLetter();
+		int[] symboles = dice.getSymboles();
+		for(int i = 0; i < symboles.length; i++) {
+			boolean avance = symboles[i] >= 0 ? cursor.pushSymbol(symboles[i]) : cursor.push(letter.charAt(i));
+			if(!avance) {
+				for(; i > 0; i--) {
+					cursor.pop();
+				}
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * recule le curseur des lettres du dé
+	 * @param cursor
+	 * 		curseur dans le dictionnaire
+	 * @param dice
+	 * 		dé à retirer du prefix
+	 */
+	private void popDice(TrieCursor cursor, DiceBoggle dice) {
+		for(int i = 0; i < dice.getSymboles().length; i++) {
+			cursor.pop();
+		}
+	}
+	
 	/**
 	 * vérifier si le dé est déjà dans le tableau 
 	 * @param tab
@@ -321,7 +386,7 @@ public class Boggle {
 	public static void main(String[] args) {
 		long startTime = System.currentTimeMillis();
 		System.out.println("Loading dictionary...");
-		LexicographicTree dictionary = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		Lexicon dictionary = MappedLexicon.load("mots/dictionnaire_FR_avec_accents.txt");
 		long loadDictTime = System.currentTimeMillis();
 		System.out.println("Duration : " + (loadDictTime - startTime)/1000.0);
 		System.out.println("Number of words : " + dictionary.size());
@@ -1,5 +1,7 @@
 package boggle;
 
+import tree.Alphabet;
+
 /**
  * classe qui représente un dé dans le graph
  * connait sa lettre
@@ -9,6 +11,7 @@ package boggle;
 public class DiceBoggle {
 
 	private String letter;
+	private int[] symboles;
 	
 	/**
 	 * constructeu de DiceBoggle
@@ -17,6 +20,7 @@ public class DiceBoggle {
 	 */
 	public DiceBoggle(String letter) {
 		this.letter = letter;
+		this.symboles = Alphabet.FRENCH.encode(letter);
 	}
 	
 	/**
@@ -27,4 +31,13 @@ public class DiceBoggle {
 		return this.letter;
 	}
 	
+	/**
+	 * retourne les codes dans Alphabet.FRENCH des lettres du dé, 
+	 * -1 pour une lettre qui n'en fait pas partie
+	 * @return codes des lettres du dé
+	 */
+	public int[] getSymboles() {
+		return this.symboles;
+	}
+	
 }
@@ -14,7 +14,11 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 
-import tree.LexicographicTree;
+import tree.Alphabet;
+import tree.DictionaryHandle;
+import tree.Lexicon;
+import tree.MappedLexicon;
+import tree.TrieCursor;
 
 public class DictionaryBasedAnalysis {
 	private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
@@ -24,7 +28,7 @@ public class DictionaryBasedAnalysis {
 	private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
 
 	private String cryptogram;
-	private LexicographicTree dict;
+	private DictionaryHandle dict;
 	private List<String> words;
 	private String bestDecoding;
 	private int bestNumberFind;
@@ -32,7 +36,17 @@ public class DictionaryBasedAnalysis {
 	/*
 	 * CONSTRUCTOR
 	 */
-	public DictionaryBasedAnalysis(String cryptogram, LexicographicTree dict) {
+	public DictionaryBasedAnalysis(String cryptogram, Lexicon dict) {
+		this(cryptogram, DictionaryHandle.of(dict));
+	}
+	
+	/**
+	 * Constructor : analysis of a cryptogram against a dictionary that may be 
+	 * reloaded between two analyses.
+	 * @param cryptogram The encoded text
+	 * @param dict A handle on the dictionary
+	 */
+	public DictionaryBasedAnalysis(String cryptogram, DictionaryHandle dict) {
 		this.cryptogram = cryptogram;
 		this.dict = dict;
 		this.words = getWord(this.cryptogram);
@@ -46,6 +60,7 @@ public class DictionaryBasedAnalysis {
 
 	/**
 	 * Performs a dictionary-based analysis of the cryptogram and returns an approximated decoding alphabet.
+	 * The whole analysis uses the dictionary current when it starts.
 	 * @param alphabet The decoding alphabet from which the analysis starts
 	 * @return The decoding alphabet at the end of the analysis process
 	 */
@@ -54,6 +69,8 @@ public class DictionaryBasedAnalysis {
 			throw new IllegalArgumentException();
 		
 		this.bestDecoding = alphabet.toUpperCase();
+		Lexicon dict = this.dict.current();
+		TrieCursor cursor = dict.cursor();
 		char[] decodingAlphabet = new char[26];
 		List<String> listLength = null;
 		Set<String> decodindWord = new HashSet<String>();
@@ -66,7 +83,7 @@ public class DictionaryBasedAnalysis {
 					if(Arrays.equals(possibleCandidat(word), possibleCandidat(encoded))){
 						decodingAlphabet = updateAlphabet(this.bestDecoding, encoded.toUpperCase(), word.toUpperCase()).toCharArray();
 						if(!this.bestDecoding.equals(new String(decodingAlphabet))) 
-							testKeyDecoding(decodindWord, decodingAlphabet);
+							testKeyDecoding(cursor, decodindWord, decodingAlphabet);
 						break;
 					}
 				}
@@ -154,16 +171,17 @@ public class DictionaryBasedAnalysis {
 	
 	/**
 	 * test la clé trouvé sur l'ensemble des mots
+	 * @param cursor
+	 * 		curseur dans le dictionnaire de l'analyse
 	 * @param wordFindList
 	 * 		liste des mots déjà déchiffrer
 	 * @param decodingAlphabet
 	 * 		clé pour déchiffrer
 	 */
-	private void testKeyDecoding(Set<String> decodindWord, char[] decodingAlphabet) {
+	private void testKeyDecoding(TrieCursor cursor, Set<String> decodindWord, char[] decodingAlphabet) {
 		int number = 0;
 		for(String word : this.words) {
-			String dechiffre = dechiffrer(decodingAlphabet, word);
-			if(dict.containsWord(dechiffre.toLowerCase())) {
+			if(containsDecoded(cursor, decodingAlphabet, word)) {
 				number++;
 				decodindWord.add(word);
 			}
@@ -176,6 +194,29 @@ public class DictionaryBasedAnalysis {
 		}
 	}
 	
+	/**
+	 * vérifie si le mot déchiffré est dans le dictionnaire, sans 
+	 * construire le mot déchiffré
+	 * @param cursor
+	 * 		curseur dans le dictionnaire
+	 * @param keyDecoding
+	 * 		clé pour déchiffrer
+	 * @param word
+	 * 		mot chiffrer
+	 * @return true si le mot déchiffré est un mot du dictionnaire
+	 */
+	private static boolean containsDecoded(TrieCursor cursor, char[] keyDecoding, String word) {
+		cursor.reset();
+		for(int i = 0; i < word.length(); i++) {
+			char letter = word.charAt(i);
+			int index = Alphabet.LATIN.code(letter);
+			if(!cursor.push(index >= 0 ? keyDecoding[index] : letter)) {
+				return false;
+			}
+		}
+		return cursor.isWord();
+	}
+	
 	/**
 	 * transforme un mot en tableau de int pour indiquer les 
 	 * endroits dans le mot où ce répete les mêmes lettres
@@ -210,11 +251,9 @@ public class DictionaryBasedAnalysis {
 	private static String dechiffrer(char[] keyDecoding, String word) {
 		char[] dechiffrer = word.toCharArray();
 		for(int i = 0; i< dechiffrer.length;i++) {
-			for(int j = 0; j< keyDecoding.length;j++) {
-				if(dechiffrer[i] == LETTERS.charAt(j)) {
-					dechiffrer[i] = keyDecoding[j];
-					break;
-				}
+			int index = Alphabet.LATIN.code(dechiffrer[i]);
+			if(index >= 0 && index < keyDecoding.length) {
+				dechiffrer[i] = keyDecoding[index];
 			}
 		}
 		return new String(dechiffrer);
@@ -280,7 +319,7 @@ public class DictionaryBasedAnalysis {
 		 */
 		long startTime = System.currentTimeMillis();
 		System.out.println("Loading dictionary... ");
-		LexicographicTree dict = new LexicographicTree(DICTIONARY);
+		Lexicon dict = MappedLexicon.load(DICTIONARY);
 		long loadDictTime = System.currentTimeMillis();
 		System.out.println("Duration : " + (loadDictTime - startTime)/1000.0);
 		System.out.println("Number of words : " + dict.size());
@@ -0,0 +1,170 @@
+package tree;
+
+import java.util.Arrays;
+
+/**
+ * Set of letters numbered with dense codes, with the rules that fold an
+ * input character to one of them. A character is folded by replacing it
+ * with its base letter when the alphabet defines one (for example 'é' by
+ * 'e'), then by putting it in upper case. The codes follow the order of
+ * the symbols, so they can index arrays and bitmaps directly.
+ */
+public final class Alphabet {
+
+	/**
+	 * Alphabet of the French dictionary: apostrophe, hyphen and the 26
+	 * letters, in character order, with the French accented letters folded
+	 * to their base letter. The lexicographic tree stores these symbols in
+	 * its child bitmaps.
+	 */
+	public static final Alphabet FRENCH = new Alphabet("'-ABCDEFGHIJKLMNOPQRSTUVWXYZ",
+			"àâäçéèêëîïöôùûüÿ", "aaaceeeeiioouuuy");
+
+	/**
+	 * The 26 letters A to Z without any folding other than upper case.
+	 */
+	public static final Alphabet LATIN = new Alphabet("ABCDEFGHIJKLMNOPQRSTUVWXYZ", "", "");
+
+	/**
+	 * taille minimale de la table de pliage, qui couvre le latin étendu
+	 */
+	private static final int PLIAGE_MIN = 0x250;
+
+	private final String symboles;
+	/*
+	 * pliage[c] lettre pliée de c pour les caractères de la table, les
+	 * autres sont seulement mis en majuscule ; codes[c] code de la lettre
+	 * pliée c, -1 si elle n'est pas un symbole
+	 */
+	private final char[] pliage;
+	private final char[] bases;
+	private final byte[] codes;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : creates an alphabet.
+	 * @param symbols The symbols, in the order of their codes, at most 127
+	 * @param from Characters replaced by a base letter before being put in upper case
+	 * @param to Base letter of each character of 'from'
+	 * @throws IllegalArgumentException If a symbol is repeated, if there are more
+	 * than 127 symbols or if 'from' and 'to' have different lengths
+	 */
+	public Alphabet(String symbols, String from, String to) {
+		if(symbols == null || from == null || to == null || from.length() != to.length() || symbols.length() > Byte.MAX_VALUE)
+			throw new IllegalArgumentException();
+		this.symboles = symbols;
+		int taille = PLIAGE_MIN;
+		for(int i = 0; i < from.length(); i++) {
+			taille = Math.max(taille, from.charAt(i) + 1);
+		}
+		this.bases = new char[taille];
+		this.pliage = new char[taille];
+		for(int c = 0; c < taille; c++) {
+			bases[c] = (char) c;
+		}
+		for(int i = 0; i < from.length(); i++) {
+			bases[from.charAt(i)] = to.charAt(i);
+		}
+		for(int c = 0; c < taille; c++) {
+			pliage[c] = Character.toUpperCase(bases[c]);
+		}
+		int max = 0;
+		for(int i = 0; i < symbols.length(); i++) {
+			max = Math.max(max, symbols.charAt(i) + 1);
+		}
+		this.codes = new byte[max];
+		Arrays.fill(codes, (byte) -1);
+		for(int i = 0; i < symbols.length(); i++) {
+			if(codes[symbols.charAt(i)] >= 0)
+				throw new IllegalArgumentException("Repeated symbol " + symbols.charAt(i));
+			codes[symbols.charAt(i)] = (byte) i;
+		}
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Returns the number of symbols.
+	 * @return The number of symbols
+	 */
+	public int size() {
+		return symboles.length();
+	}
+
+	/**
+	 * Returns the symbols in the order of their codes.
+	 * @return The symbols
+	 */
+	public String getSymbols() {
+		return symboles;
+	}
+
+	/**
+	 * Returns the symbol of a code.
+	 * @param code A code between 0 and size() - 1
+	 * @return The symbol
+	 */
+	public char symbol(int code) {
+		return symboles.charAt(code);
+	}
+
+	/**
+	 * Folds a character: replaces it with its base letter if it has one,
+	 * then puts it in upper case. The result may not be a symbol.
+	 * @param c A character
+	 * @return The folded character
+	 */
+	public char fold(char c) {
+		return c < pliage.length ? pliage[c] : Character.toUpperCase(c);
+	}
+
+	/**
+	 * Returns the code of a character that is already folded.
+	 * @param folded A folded character
+	 * @return Its code, -1 if it is not a symbol
+	 */
+	public int code(char folded) {
+		return folded < codes.length ? codes[folded] : -1;
+	}
+
+	/**
+	 * Returns the code of a character after folding it.
+	 * @param c A character
+	 * @return The code of the folded character, -1 if it is not a symbol
+	 */
+	public int encode(char c) {
+		return code(fold(c));
+	}
+
+	/**
+	 * Returns the codes of the characters of a word after folding them.
+	 * @param word A word
+	 * @return The code of each character, -1 for the characters that are not symbols
+	 */
+	public int[] encode(CharSequence word) {
+		int[] encoded = new int[word.length()];
+		for(int i = 0; i < encoded.length; i++) {
+			encoded[i] = encode(word.charAt(i));
+		}
+		return encoded;
+	}
+
+	/*
+	 * PACKAGE METHODS
+	 */
+
+	/**
+	 * remplace un caractère par sa lettre de base, sans changer la casse
+	 * @param c
+	 * 		caractère à remplacer
+	 * @return lettre de base, le caractère lui-même s'il n'en a pas
+	 */
+	char base(char c) {
+		return c < bases.length ? bases[c] : c;
+	}
+}
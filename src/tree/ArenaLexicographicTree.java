@@ -0,0 +1,451 @@
+package tree;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Lexicographic tree whose nodes live in a few primitive arrays instead of
+ * one object each. A node is an int handle indexing the arrays: its letter
+ * in a char array, its end-of-word flag in a bitset, its first child and
+ * its next sibling in two int arrays. The siblings are kept sorted by
+ * letter. The whole tree is therefore five objects however many words it
+ * holds: the collector has nothing to trace in it, and a lookup reads
+ * contiguous arrays instead of following references across the heap.
+ * Insertions and lookups fold letters exactly as LexicographicTree does.
+ */
+public class ArenaLexicographicTree implements Lexicon {
+
+	/**
+	 * poignée de la racine ; elle n'est l'enfant ni la soeur d'aucun noeud,
+	 * donc 0 signifie aussi « pas de noeud » dans premierEnfant et frereSuivant
+	 */
+	private static final int RACINE = 0;
+	private static final int AUCUN = 0;
+
+	private char[] lettres = new char[1024];
+	private int[] premierEnfant = new int[1024];
+	private int[] frereSuivant = new int[1024];
+	private final BitSet finMot = new BitSet();
+	/*
+	 * nombre de poignées déjà distribuées et poignées libérées par
+	 * removeWord, chaînées par frereSuivant
+	 */
+	private int nombreNoeuds = 1;
+	private int libres = AUCUN;
+	private int nodeCount = 1;
+	private int numberWord = 0;
+	private int hauteur = 0;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : creates an empty tree.
+	 */
+	public ArenaLexicographicTree() {
+	}
+
+	/**
+	 * Constructor : creates a tree populated with words
+	 * @param filename A text file containing the words to be inserted in the tree
+	 */
+	public ArenaLexicographicTree(String filename) {
+		try(BufferedReader br = new BufferedReader(new FileReader(new File(filename)))){
+			String line = br.readLine();
+			while(line != null){
+				insertWord(line);
+				line = br.readLine();
+			}
+		}catch (IOException e) {
+
+		}
+		compact();
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	@Override
+	public int size() {
+		return numberWord;
+	}
+
+	/**
+	 * Inserts a word in the tree if not already present. Letters are folded
+	 * like in LexicographicTree.insertWord.
+	 * @param word A word
+	 */
+	public void insertWord(String word) {
+		if(word == null) {
+			return;
+		}
+		int noeud = RACINE;
+		if(!word.isEmpty()) {
+			word = word.toLowerCase().trim();
+			if(word.isEmpty()) {
+				return;
+			}
+			// comme dans LexicographicTree, un mot sans lettre marque la racine
+			String symboles = LexicographicTree.symboles(word);
+			for(int i = 0; i < symboles.length(); i++) {
+				noeud = ajouterEnfant(noeud, symboles.charAt(i));
+			}
+			hauteur = Math.max(hauteur, symboles.length());
+		}
+		if(!finMot.get(noeud)) {
+			finMot.set(noeud);
+			numberWord++;
+		}
+	}
+
+	/**
+	 * Removes a word from the tree if present. The nodes that no longer lead
+	 * to any word are unlinked and their handles are reused by later insertions.
+	 * @param word A word, folded like in containsWord
+	 * @return True if the word was present, false otherwise
+	 */
+	public boolean removeWord(String word) {
+		if(word == null)
+			return false;
+		char[] cle = LexicographicTree.normaliserCle(word);
+		int[] chemin = new int[cle.length + 1];
+		chemin[0] = RACINE;
+		for(int i = 0; i < cle.length; i++) {
+			chemin[i + 1] = enfant(chemin[i], cle[i]);
+			if(chemin[i + 1] < 0) {
+				return false;
+			}
+		}
+		if(!finMot.get(chemin[cle.length])) {
+			return false;
+		}
+		finMot.clear(chemin[cle.length]);
+		for(int i = cle.length; i > 0 && premierEnfant[chemin[i]] == AUCUN && !finMot.get(chemin[i]); i--) {
+			retirerEnfant(chemin[i - 1], chemin[i]);
+		}
+		numberWord--;
+		return true;
+	}
+
+	@Override
+	public boolean containsWord(String word) {
+		if(word == null)
+			return false;
+		int noeud = checkPrefix(word);
+		return noeud >= 0 && finMot.get(noeud);
+	}
+
+	@Override
+	public boolean containsPrefix(String prefix) {
+		if(prefix == null)
+			return false;
+		return checkPrefix(prefix) >= 0;
+	}
+
+	@Override
+	public List<String> getWords(String prefix) {
+		List<String> wordSave = new ArrayList<>();
+		visitWords(prefix, (word, length) -> {
+			wordSave.add(new String(word, 0, length));
+			return WordVisitor.Result.CONTINUE;
+		});
+		return wordSave;
+	}
+
+	@Override
+	public List<String> getWordsOfLength(int length) {
+		List<String> wordSave = new ArrayList<>();
+		if(length > 0 && length <= hauteur) {
+			getWord(wordSave, new char[length], 0, RACINE, length);
+		}
+		return wordSave;
+	}
+
+	/**
+	 * Passes the words starting with the supplied prefix to a visitor, in
+	 * the order of getWords(prefix), like LexicographicTree.visitWords.
+	 * @param prefix Expected prefix, all words if null or empty
+	 * @param visitor Visitor called for each prefix and each word
+	 */
+	public void visitWords(String prefix, WordVisitor visitor) {
+		char[] cle = prefix == null ? new char[0] : LexicographicTree.normaliserCle(prefix);
+		int noeud = checkPrefix(cle);
+		if(noeud >= 0) {
+			visiter(visitor, Arrays.copyOf(cle, cle.length + hauteur), cle.length, noeud);
+		}
+	}
+
+	@Override
+	public TrieCursor cursor() {
+		return new CurseurGraphe() {
+			@Override
+			int enfant(int noeud, char letter) {
+				return ArenaLexicographicTree.this.enfant(noeud, letter);
+			}
+
+			@Override
+			boolean isEndWord(int noeud) {
+				return finMot.get(noeud);
+			}
+
+			@Override
+			boolean hasChildren(int noeud) {
+				return premierEnfant[noeud] != AUCUN;
+			}
+		};
+	}
+
+	/**
+	 * Shrinks the arrays to the number of handles in use. The arrays grow by
+	 * doubling on insertion; the file constructor calls this once all words are read.
+	 */
+	public void compact() {
+		lettres = Arrays.copyOf(lettres, nombreNoeuds);
+		premierEnfant = Arrays.copyOf(premierEnfant, nombreNoeuds);
+		frereSuivant = Arrays.copyOf(frereSuivant, nombreNoeuds);
+	}
+
+	/**
+	 * Returns the number of nodes, the root included.
+	 * @return The number of nodes
+	 */
+	public int nodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Returns the estimated heap retained by the tree, with the same layout
+	 * assumptions as TreeStats.estimatedHeapBytes.
+	 * @return The estimated retained heap in bytes
+	 */
+	public long estimatedHeapBytes() {
+		return 48 + VecteurBits.tailleTableau(2L * lettres.length) + VecteurBits.tailleTableau(4L * premierEnfant.length)
+				+ VecteurBits.tailleTableau(4L * frereSuivant.length)
+				+ 24 + VecteurBits.tailleTableau(8L * ((finMot.size() + 63) >>> 6));
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * cherche l'enfant portant la lettre parmi les frères triés
+	 * @param noeud
+	 * 		noeud courant
+	 * @param letter
+	 * 		lettre cherchée
+	 * @return l'enfant, -1 s'il n'existe pas
+	 */
+	private int enfant(int noeud, char letter) {
+		for(int e = premierEnfant[noeud]; e != AUCUN; e = frereSuivant[e]) {
+			if(lettres[e] >= letter) {
+				return lettres[e] == letter ? e : -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * retourne l'enfant portant la lettre, en le créant à sa place parmi
+	 * les frères s'il n'existe pas
+	 * @param noeud
+	 * 		noeud courant
+	 * @param letter
+	 * 		lettre de l'enfant
+	 * @return l'enfant
+	 */
+	private int ajouterEnfant(int noeud, char letter) {
+		int precedent = AUCUN;
+		int e = premierEnfant[noeud];
+		while(e != AUCUN && lettres[e] < letter) {
+			precedent = e;
+			e = frereSuivant[e];
+		}
+		if(e != AUCUN && lettres[e] == letter) {
+			return e;
+		}
+		int nouveau = allouer();
+		lettres[nouveau] = letter;
+		premierEnfant[nouveau] = AUCUN;
+		frereSuivant[nouveau] = e;
+		if(precedent == AUCUN) {
+			premierEnfant[noeud] = nouveau;
+		}else {
+			frereSuivant[precedent] = nouveau;
+		}
+		return nouveau;
+	}
+
+	/**
+	 * détache un enfant sans enfant et rend sa poignée
+	 * @param noeud
+	 * 		parent de l'enfant
+	 * @param enfant
+	 * 		enfant à détacher
+	 */
+	private void retirerEnfant(int noeud, int enfant) {
+		if(premierEnfant[noeud] == enfant) {
+			premierEnfant[noeud] = frereSuivant[enfant];
+		}else {
+			int e = premierEnfant[noeud];
+			while(frereSuivant[e] != enfant) {
+				e = frereSuivant[e];
+			}
+			frereSuivant[e] = frereSuivant[enfant];
+		}
+		frereSuivant[enfant] = libres;
+		libres = enfant;
+		nodeCount--;
+	}
+
+	/**
+	 * retourne une poignée libre, en agrandissant les tableaux si besoin
+	 * @return la poignée
+	 */
+	private int allouer() {
+		nodeCount++;
+		if(libres != AUCUN) {
+			int poignee = libres;
+			libres = frereSuivant[poignee];
+			return poignee;
+		}
+		if(nombreNoeuds == lettres.length) {
+			int capacite = Math.max(16, nombreNoeuds * 2);
+			lettres = Arrays.copyOf(lettres, capacite);
+			premierEnfant = Arrays.copyOf(premierEnfant, capacite);
+			frereSuivant = Arrays.copyOf(frereSuivant, capacite);
+		}
+		return nombreNoeuds++;
+	}
+
+	/**
+	 * cherche le noeud d'un préfix en pliant ses lettres au fil de la descente
+	 * @param prefix
+	 * 		préfix qu'on cherche
+	 * @return noeud atteint, -1 si le préfix n'existe pas
+	 */
+	private int checkPrefix(String prefix) {
+		int courant = RACINE;
+		for(int i = 0; i < prefix.length() && courant >= 0; i++) {
+			char letter = LexicographicTree.plierLettre(prefix.charAt(i));
+			if(letter >= 0x80) {
+				return checkPrefix(LexicographicTree.normaliserCle(prefix));
+			}
+			courant = enfant(courant, letter);
+		}
+		return courant;
+	}
+
+	/**
+	 * suit des lettres déjà normalisées depuis la racine
+	 * @param cle
+	 * 		lettres normalisées
+	 * @return noeud atteint, -1 si le préfix n'existe pas
+	 */
+	private int checkPrefix(char[] cle) {
+		int courant = RACINE;
+		for(int i = 0; i < cle.length && courant >= 0; i++) {
+			courant = enfant(courant, cle[i]);
+		}
+		return courant;
+	}
+
+	/**
+	 * parcours en profondeur qui passe les préfixes et les mots au visiteur
+	 * @param visitor
+	 * 		visiteur
+	 * @param tampon
+	 * 		mot en construction, assez long pour le plus long mot
+	 * @param length
+	 * 		longueur du mot en construction
+	 * @param actuel
+	 * 		noeud courant
+	 * @return TERMINATE si le visiteur a arrêté le parcours
+	 */
+	private WordVisitor.Result visiter(WordVisitor visitor, char[] tampon, int length, int actuel) {
+		if(length > 0) {
+			WordVisitor.Result result = visitor.preVisitPrefix(tampon, length);
+			if(result == WordVisitor.Result.CONTINUE && finMot.get(actuel)) {
+				result = visitor.visitWord(tampon, length);
+			}
+			if(result != WordVisitor.Result.CONTINUE) {
+				return result == WordVisitor.Result.TERMINATE ? result : WordVisitor.Result.CONTINUE;
+			}
+		}
+		for(int e = premierEnfant[actuel]; e != AUCUN; e = frereSuivant[e]) {
+			tampon[length] = lettres[e];
+			if(visiter(visitor, tampon, length + 1, e) == WordVisitor.Result.TERMINATE) {
+				return WordVisitor.Result.TERMINATE;
+			}
+		}
+		return WordVisitor.Result.CONTINUE;
+	}
+
+	/**
+	 * parcours en profondeur qui ajoute les mots d'une longueur dans l'ordre alphabétique
+	 * @param listWords
+	 * 		liste des mots trouvés
+	 * @param wordBuild
+	 * 		mot en construction
+	 * @param length
+	 * 		longueur du mot en construction
+	 * @param actuel
+	 * 		noeud courant
+	 * @param longueurVoulue
+	 * 		longueur exacte des mots voulus
+	 */
+	private void getWord(List<String> listWords, char[] wordBuild, int length, int actuel, int longueurVoulue) {
+		for(int e = premierEnfant[actuel]; e != AUCUN; e = frereSuivant[e]) {
+			wordBuild[length] = lettres[e];
+			if(length + 1 == longueurVoulue) {
+				if(finMot.get(e)) {
+					listWords.add(new String(wordBuild));
+				}
+			}else {
+				getWord(listWords, wordBuild, length + 1, e, longueurVoulue);
+			}
+		}
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	public static void main(String[] args) {
+		String filename = args.length > 0 ? args[0] : "mots/dictionnaire_FR_avec_accents.txt";
+		LexicographicTree dict = new LexicographicTree(filename);
+		ArenaLexicographicTree arena = new ArenaLexicographicTree(filename);
+		System.out.println("Nodes : " + arena.nodeCount());
+		System.out.println("Tree size : " + dict.stats().estimatedHeapBytes() / 1024 + " KB");
+		System.out.println("Arena size : " + arena.estimatedHeapBytes() / 1024 + " KB");
+
+		List<String> words = dict.getWords("");
+		Collections.shuffle(words, new Random(0));
+		for(int i = 0; i < 3; i++) {
+			for(String word : words) {
+				dict.containsWord(word);
+				arena.containsWord(word);
+			}
+		}
+		long startTime = System.nanoTime();
+		for(String word : words) {
+			dict.containsWord(word);
+		}
+		System.out.printf("Tree containsWord : %.0f ns%n", (System.nanoTime() - startTime) / (double) words.size());
+		startTime = System.nanoTime();
+		for(String word : words) {
+			arena.containsWord(word);
+		}
+		System.out.printf("Arena containsWord : %.0f ns%n", (System.nanoTime() - startTime) / (double) words.size());
+	}
+}
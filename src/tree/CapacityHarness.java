@@ -0,0 +1,400 @@
+package tree;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Capacity measurement of LexicographicTree: inserts a stream of synthetic
+ * words until the heap retained by the tree reaches a budget, measuring
+ * the heap after a garbage collection every few words. The result is the
+ * curve of heap per word, with words and nodes per megabyte, as CSV or JSON.
+ *
+ * Two word streams are available: "random" draws each letter uniformly
+ * from the alphabet and the length from a distribution, "counter" writes
+ * the numbers 0, 1, 2... in base alphabet size, the letters of the
+ * alphabet being the digits, which gives dense, highly shared prefixes.
+ *
+ * The budget must fit in the maximum heap (-Xmx) with room for the
+ * collector, for example -Xmx2g for a budget of 1024 MB.
+ */
+public final class CapacityHarness {
+
+	/**
+	 * Alphabet used when none is given: the letters A to Z.
+	 */
+	public static final String DEFAULT_ALPHABET = Alphabet.LATIN.getSymbols();
+
+	private static final long MB = 1024 * 1024;
+
+	private final String alphabet;
+	private final String lengths;
+	private final boolean counter;
+	private final long seed;
+	/*
+	 * longueurs possibles des mots aléatoires et poids cumulés de chacune
+	 */
+	private final int[] longueurs;
+	private final long[] cumul;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : creates a harness inserting random words.
+	 * @param alphabet The letters of the words, each a letter, an apostrophe or a hyphen
+	 * @param lengths The length distribution: "min-max" for lengths drawn uniformly
+	 * between min and max, "length:weight,length:weight..." for lengths drawn with
+	 * the given weights, or a single length
+	 * @param seed The seed of the random words, so that two runs insert the same words
+	 * @throws IllegalArgumentException If the alphabet is empty or has a character the
+	 * tree ignores, or if the distribution is invalid or has a length below 1
+	 */
+	public CapacityHarness(String alphabet, String lengths, long seed) {
+		this(alphabet, lengths, false, seed);
+	}
+
+	/**
+	 * constructeur commun aux deux flux de mots
+	 * @param alphabet
+	 * 		lettres des mots
+	 * @param lengths
+	 * 		distribution des longueurs, ignorée par le compteur
+	 * @param counter
+	 * 		true pour écrire les nombres successifs dans la base de l'alphabet
+	 * @param seed
+	 * 		graine des mots aléatoires
+	 */
+	private CapacityHarness(String alphabet, String lengths, boolean counter, long seed) {
+		if(alphabet == null || alphabet.isEmpty() || (counter && alphabet.length() < 2))
+			throw new IllegalArgumentException("Invalid alphabet : " + alphabet);
+		for(int i = 0; i < alphabet.length(); i++) {
+			char letter = alphabet.charAt(i);
+			if(letter != '\'' && letter != '-' && !Character.isLetter(letter))
+				throw new IllegalArgumentException("Not a letter : " + letter);
+		}
+		this.alphabet = alphabet;
+		this.lengths = lengths;
+		this.counter = counter;
+		this.seed = seed;
+		if(counter) {
+			this.longueurs = new int[0];
+			this.cumul = new long[0];
+			return;
+		}
+		if(lengths == null)
+			throw new IllegalArgumentException("Invalid lengths : " + lengths);
+		try {
+			List<int[]> poids = new ArrayList<>();
+			String[] bornes = lengths.split("-");
+			if(bornes.length == 2) {
+				for(int n = Integer.parseInt(bornes[0].trim()); n <= Integer.parseInt(bornes[1].trim()); n++) {
+					poids.add(new int[] {n, 1});
+				}
+			}else {
+				for(String terme : lengths.split(",")) {
+					String[] parties = terme.split(":");
+					if(parties.length > 2)
+						throw new IllegalArgumentException("Invalid lengths : " + lengths);
+					poids.add(new int[] {Integer.parseInt(parties[0].trim()), parties.length == 2 ? Integer.parseInt(parties[1].trim()) : 1});
+				}
+			}
+			this.longueurs = new int[poids.size()];
+			this.cumul = new long[poids.size()];
+			long total = 0;
+			for(int i = 0; i < poids.size(); i++) {
+				if(poids.get(i)[0] < 1 || poids.get(i)[1] < 0)
+					throw new IllegalArgumentException("Invalid lengths : " + lengths);
+				longueurs[i] = poids.get(i)[0];
+				total += poids.get(i)[1];
+				cumul[i] = total;
+			}
+			if(total == 0)
+				throw new IllegalArgumentException("Invalid lengths : " + lengths);
+		}catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid lengths : " + lengths, e);
+		}
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Creates a harness inserting the numbers 0, 1, 2... written in base
+	 * alphabet.length(), the first letter of the alphabet being the digit 0.
+	 * With the alphabet "AM", this is the stream of the former testDictionarySize.
+	 * @param alphabet The digits, at least two
+	 * @return A harness inserting the counter stream
+	 * @throws IllegalArgumentException If the alphabet has less than two letters or a
+	 * character the tree ignores
+	 */
+	public static CapacityHarness counter(String alphabet) {
+		return new CapacityHarness(alphabet, null, true, 0);
+	}
+
+	/**
+	 * Inserts words in a new tree until the heap it retains reaches the budget,
+	 * until maxWords words have been generated or until the stream stops adding
+	 * new words. The heap is measured after a garbage collection every step
+	 * generated words, and once more at the end.
+	 * @param budgetBytes The heap budget of the tree in bytes
+	 * @param step The number of words generated between two measures
+	 * @param maxWords The maximum number of words generated, duplicates included
+	 * @return The measures, in increasing number of words
+	 * @throws IllegalArgumentException If the budget does not fit in the maximum heap,
+	 * or if step or maxWords is not positive
+	 */
+	public List<Sample> run(long budgetBytes, long step, long maxWords) {
+		if(budgetBytes <= 0 || budgetBytes >= Runtime.getRuntime().maxMemory() || step <= 0 || maxWords <= 0)
+			throw new IllegalArgumentException();
+		List<Sample> samples = new ArrayList<>();
+		Random random = new Random(seed);
+		long depart = tasUtilise();
+		LexicographicTree dict = new LexicographicTree();
+		long generes = 0;
+		while(generes < maxWords) {
+			int avant = dict.size();
+			long fin = Math.min(maxWords, generes + step);
+			for(; generes < fin; generes++) {
+				dict.insertWord(genererMot(generes, random));
+			}
+			Sample sample = mesurer(dict, tasUtilise() - depart);
+			samples.add(sample);
+			if(sample.heapBytes >= budgetBytes || dict.size() == avant) {
+				break;
+			}
+		}
+		return Collections.unmodifiableList(samples);
+	}
+
+	/**
+	 * Formats measures as CSV, with a header line.
+	 * @param samples Measures returned by run
+	 * @return The CSV text, one line per measure
+	 */
+	public static String toCsv(List<Sample> samples) {
+		StringBuilder csv = new StringBuilder("words,nodes,heapBytes,estimatedHeapBytes,bytesPerWord,wordsPerMB,nodesPerMB\n");
+		for(Sample sample : samples) {
+			csv.append(String.format(Locale.ROOT, "%d,%d,%d,%d,%.2f,%.1f,%.1f%n", sample.words, sample.nodes,
+					sample.heapBytes, sample.estimatedHeapBytes, sample.bytesPerWord(), sample.wordsPerMB(), sample.nodesPerMB()));
+		}
+		return csv.toString();
+	}
+
+	/**
+	 * Formats measures as a JSON object holding the harness settings and the
+	 * array of measures.
+	 * @param samples Measures returned by run
+	 * @return The JSON text
+	 */
+	public String toJson(List<Sample> samples) {
+		StringBuilder json = new StringBuilder("{\n");
+		json.append("  \"stream\": \"").append(counter ? "counter" : "random").append("\",\n");
+		json.append("  \"alphabet\": \"").append(alphabet.replace("\\", "\\\\").replace("\"", "\\\"")).append("\",\n");
+		if(!counter) {
+			json.append("  \"lengths\": \"").append(lengths).append("\",\n");
+			json.append("  \"seed\": ").append(seed).append(",\n");
+		}
+		json.append("  \"maxHeapBytes\": ").append(Runtime.getRuntime().maxMemory()).append(",\n");
+		json.append("  \"samples\": [");
+		for(int i = 0; i < samples.size(); i++) {
+			Sample sample = samples.get(i);
+			json.append(i == 0 ? "\n" : ",\n");
+			json.append(String.format(Locale.ROOT, "    {\"words\": %d, \"nodes\": %d, \"heapBytes\": %d, \"estimatedHeapBytes\": %d, "
+					+ "\"bytesPerWord\": %.2f, \"wordsPerMB\": %.1f, \"nodesPerMB\": %.1f}", sample.words, sample.nodes,
+					sample.heapBytes, sample.estimatedHeapBytes, sample.bytesPerWord(), sample.wordsPerMB(), sample.nodesPerMB()));
+		}
+		json.append("\n  ]\n}\n");
+		return json.toString();
+	}
+
+	/**
+	 * Measures of the tree after a number of insertions.
+	 */
+	public static final class Sample {
+		private final long words;
+		private final long nodes;
+		private final long heapBytes;
+		private final long estimatedHeapBytes;
+
+		/**
+		 * constructeur d'une mesure
+		 * @param words
+		 * 		nombre de mots de l'arbre
+		 * @param nodes
+		 * 		nombre de noeuds de l'arbre
+		 * @param heapBytes
+		 * 		tas mesuré après un ramasse-miettes
+		 * @param estimatedHeapBytes
+		 * 		tas estimé par TreeStats
+		 */
+		Sample(long words, long nodes, long heapBytes, long estimatedHeapBytes) {
+			this.words = words;
+			this.nodes = nodes;
+			this.heapBytes = heapBytes;
+			this.estimatedHeapBytes = estimatedHeapBytes;
+		}
+
+		/**
+		 * Returns the number of distinct words in the tree.
+		 * @return The number of words
+		 */
+		public long words() {
+			return words;
+		}
+
+		/**
+		 * Returns the number of nodes of the tree.
+		 * @return The number of nodes
+		 */
+		public long nodes() {
+			return nodes;
+		}
+
+		/**
+		 * Returns the heap retained by the tree, measured after a garbage collection.
+		 * @return The measured heap in bytes
+		 */
+		public long heapBytes() {
+			return heapBytes;
+		}
+
+		/**
+		 * Returns the heap retained by the tree as estimated by TreeStats.
+		 * @return The estimated heap in bytes
+		 */
+		public long estimatedHeapBytes() {
+			return estimatedHeapBytes;
+		}
+
+		/**
+		 * Returns the measured heap per word.
+		 * @return The number of bytes per word, 0 if the tree is empty
+		 */
+		public double bytesPerWord() {
+			return words == 0 ? 0 : (double) heapBytes / words;
+		}
+
+		/**
+		 * Returns the number of words per megabyte of measured heap.
+		 * @return The number of words per MB, 0 if no heap was measured
+		 */
+		public double wordsPerMB() {
+			return heapBytes <= 0 ? 0 : (double) words * MB / heapBytes;
+		}
+
+		/**
+		 * Returns the number of nodes per megabyte of measured heap.
+		 * @return The number of nodes per MB, 0 if no heap was measured
+		 */
+		public double nodesPerMB() {
+			return heapBytes <= 0 ? 0 : (double) nodes * MB / heapBytes;
+		}
+	}
+
+	/*
+	 * PACKAGE METHODS
+	 */
+
+	/**
+	 * retourne le mot suivant du flux
+	 * @param rang
+	 * 		nombre de mots déjà générés
+	 * @param random
+	 * 		générateur des mots aléatoires
+	 * @return le mot
+	 */
+	String genererMot(long rang, Random random) {
+		int base = alphabet.length();
+		if(counter) {
+			char[] chiffres = new char[64];
+			int debut = chiffres.length;
+			do {
+				chiffres[--debut] = alphabet.charAt((int) (rang % base));
+				rang = rang / base;
+			} while(rang != 0);
+			return new String(chiffres, debut, chiffres.length - debut);
+		}
+		long tirage = (long) (random.nextDouble() * cumul[cumul.length - 1]);
+		int i = 0;
+		while(cumul[i] <= tirage) {
+			i++;
+		}
+		char[] mot = new char[longueurs[i]];
+		for(int j = 0; j < mot.length; j++) {
+			mot[j] = alphabet.charAt(random.nextInt(base));
+		}
+		return new String(mot);
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * mesure l'arbre
+	 * @param dict
+	 * 		arbre à mesurer
+	 * @param heapBytes
+	 * 		tas retenu par l'arbre
+	 * @return la mesure
+	 */
+	private static Sample mesurer(LexicographicTree dict, long heapBytes) {
+		TreeStats stats = dict.stats();
+		return new Sample(dict.size(), stats.nodeCount(), heapBytes, stats.estimatedHeapBytes());
+	}
+
+	/**
+	 * retourne le tas utilisé après un ramasse-miettes complet
+	 * @return tas utilisé en octets
+	 */
+	private static long tasUtilise() {
+		MemoryMXBean memoire = ManagementFactory.getMemoryMXBean();
+		// deux passes pour que les objets finalisés à la première soient libérés
+		memoire.gc();
+		memoire.gc();
+		return memoire.getHeapMemoryUsage().getUsed();
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	/**
+	 * Runs the harness and prints the measures. Options, all optional:
+	 * --stream=random|counter, --alphabet=letters, --lengths=distribution,
+	 * --seed=n, --budget-mb=n (default 256), --step=n words between two
+	 * measures (default 100000), --max-words=n, --format=csv|json.
+	 * @param args The options
+	 */
+	public static void main(String[] args) {
+		String stream = "random", alphabet = DEFAULT_ALPHABET, lengths = "4-12", format = "csv";
+		long seed = 0, budget = 256, step = 100_000, maxWords = Long.MAX_VALUE;
+		for(String arg : args) {
+			int egal = arg.indexOf('=');
+			String option = egal < 0 ? arg : arg.substring(0, egal);
+			String valeur = egal < 0 ? "" : arg.substring(egal + 1);
+			switch(option) {
+			case "--stream": stream = valeur; break;
+			case "--alphabet": alphabet = valeur; break;
+			case "--lengths": lengths = valeur; break;
+			case "--seed": seed = Long.parseLong(valeur); break;
+			case "--budget-mb": budget = Long.parseLong(valeur); break;
+			case "--step": step = Long.parseLong(valeur); break;
+			case "--max-words": maxWords = Long.parseLong(valeur); break;
+			case "--format": format = valeur; break;
+			default:
+				throw new IllegalArgumentException("Unknown option : " + arg);
+			}
+		}
+		CapacityHarness harness = "counter".equals(stream) ? counter(alphabet) : new CapacityHarness(alphabet, lengths, seed);
+		List<Sample> samples = harness.run(budget * MB, step, maxWords);
+		System.out.print("json".equals(format) ? harness.toJson(samples) : toCsv(samples));
+	}
+}
@@ -0,0 +1,201 @@
+package tree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Chargement d'un fichier de mots encodé en UTF-8 directement depuis ses
+ * octets : le fichier est lu par blocs dans un tampon hors du tas, l'UTF-8
+ * est décodé à la volée et chaque caractère passe par une seule table qui
+ * donne la lettre de l'arbre, sans créer de chaîne par ligne. L'arbre
+ * obtenu est celui que construit insertWord sur chaque ligne lue par
+ * BufferedReader.readLine.
+ */
+final class ChargementOctets {
+
+	/**
+	 * taille du tampon de lecture en octets
+	 */
+	private static final int TAMPON = 1 << 16;
+
+	/**
+	 * caractère produit par une séquence UTF-8 invalide
+	 */
+	private static final int REMPLACEMENT = 0xFFFD;
+
+	/**
+	 * lettre de l'arbre de chaque caractère, comme LexicographicTree.symboles
+	 * après toLowerCase, 0 si le caractère est ignoré
+	 */
+	private static final char[] PLIAGE = new char[Character.MAX_VALUE + 1];
+
+	static {
+		for(int c = 0; c <= Character.MAX_VALUE; c++) {
+			char letter = Alphabet.FRENCH.fold(Character.toLowerCase((char) c));
+			if(letter == '\'' || letter == '-' || Character.isLetter(letter)) {
+				PLIAGE[c] = letter;
+			}
+		}
+	}
+
+	private final Noeud racine;
+	private int numberWord;
+
+	/*
+	 * ligne en cours : ses lettres, si elle n'a encore aucun caractère, si
+	 * elle n'a que des caractères que trim retire, et si l'octet précédent
+	 * était un '\r'
+	 */
+	private char[] symboles = new char[64];
+	private int longueur;
+	private boolean vide = true;
+	private boolean blanche = true;
+	private boolean apresCR;
+
+	/*
+	 * séquence UTF-8 en cours : bits déjà lus, octets de continuation
+	 * attendus et plus petite valeur qui n'est pas un encodage trop long
+	 */
+	private int point;
+	private int restants;
+	private int minimum;
+
+	/**
+	 * prépare le chargement sous une racine
+	 * @param racine
+	 * 		racine de l'arbre à remplir
+	 */
+	ChargementOctets(Noeud racine) {
+		this.racine = racine;
+	}
+
+	/**
+	 * insère les mots du fichier dans l'arbre. Si la lecture échoue, les
+	 * mots des lignes déjà lues restent insérés
+	 * @param filename
+	 * 		fichier des mots, un par ligne
+	 * @throws IOException
+	 * 		si le fichier ne peut pas être lu
+	 */
+	void charger(String filename) throws IOException {
+		try(FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			ByteBuffer tampon = ByteBuffer.allocateDirect(TAMPON);
+			while(channel.read(tampon) >= 0) {
+				tampon.flip();
+				while(tampon.hasRemaining()) {
+					lire(tampon.get());
+				}
+				tampon.clear();
+			}
+		}
+		if(restants > 0) {
+			restants = 0;
+			caractere(REMPLACEMENT);
+		}
+		if(!vide) {
+			finLigne();
+		}
+	}
+
+	/**
+	 * retourne le nombre de mots insérés
+	 * @return le nombre de mots
+	 */
+	int getNumberWord() {
+		return numberWord;
+	}
+
+	/**
+	 * décode un octet du fichier
+	 * @param b
+	 * 		octet lu
+	 */
+	private void lire(byte b) {
+		int octet = b & 0xFF;
+		boolean cr = apresCR;
+		apresCR = false;
+		if(restants > 0) {
+			if((octet & 0xC0) == 0x80) {
+				point = point << 6 | octet & 0x3F;
+				if(--restants == 0) {
+					caractere(point >= minimum && (point < 0xD800 || point > 0xDFFF) ? point : REMPLACEMENT);
+				}
+				return;
+			}
+			restants = 0;
+			caractere(REMPLACEMENT);
+		}
+		if(octet == '\n') {
+			if(!cr) {
+				finLigne();
+			}
+		}else if(octet == '\r') {
+			finLigne();
+			apresCR = true;
+		}else if(octet < 0x80) {
+			caractere(octet);
+		}else if(octet >= 0xC0 && octet < 0xE0) {
+			sequence(octet & 0x1F, 1, 0x80);
+		}else if(octet >= 0xE0 && octet < 0xF0) {
+			sequence(octet & 0x0F, 2, 0x800);
+		}else if(octet >= 0xF0 && octet < 0xF8) {
+			sequence(octet & 0x07, 3, 0x10000);
+		}else {
+			caractere(REMPLACEMENT);
+		}
+	}
+
+	/**
+	 * commence une séquence UTF-8 de plusieurs octets
+	 * @param bits
+	 * 		bits portés par le premier octet
+	 * @param continuation
+	 * 		nombre d'octets de continuation attendus
+	 * @param min
+	 * 		plus petite valeur encodée sur cette longueur
+	 */
+	private void sequence(int bits, int continuation, int min) {
+		point = bits;
+		restants = continuation;
+		minimum = min;
+	}
+
+	/**
+	 * ajoute un caractère décodé à la ligne en cours
+	 * @param c
+	 * 		point de code du caractère
+	 */
+	private void caractere(int c) {
+		vide = false;
+		if(c > ' ') {
+			blanche = false;
+		}
+		// hors du plan de base, le caractère devient deux demi-codets qui ne sont pas des lettres
+		char letter = c <= Character.MAX_VALUE ? PLIAGE[c] : 0;
+		if(letter != 0) {
+			if(longueur == symboles.length) {
+				symboles = Arrays.copyOf(symboles, longueur * 2);
+			}
+			symboles[longueur++] = letter;
+		}
+	}
+
+	/**
+	 * insère la ligne en cours comme insertWord : une ligne sans lettre
+	 * marque la racine, sauf si trim la rend vide alors qu'elle ne l'était pas
+	 */
+	private void finLigne() {
+		if(longueur > 0 || vide || !blanche) {
+			if(LexicographicTree.inserer(racine, symboles, 0, longueur)) {
+				numberWord++;
+			}
+		}
+		longueur = 0;
+		vide = true;
+		blanche = true;
+	}
+}
@@ -0,0 +1,229 @@
+package tree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Chargement d'un fichier de mots sur plusieurs coeurs : le fichier est
+ * découpé en plages d'octets alignées sur les fins de ligne, chaque plage
+ * range ses mots par première lettre, puis un sous-arbre est construit par
+ * première lettre et tous sont accrochés sous la racine.
+ */
+final class ChargementParallele {
+
+	/**
+	 * taille en octets sous laquelle une plage n'est plus découpée
+	 */
+	private static final int SEUIL = 1 << 16;
+
+	private final ByteBuffer contenu;
+	private final Charset charset;
+	private final ForkJoinPool pool;
+
+	private int numberWord;
+
+	/**
+	 * prépare le chargement du fichier
+	 * @param filename
+	 * 		fichier des mots, un par ligne
+	 * @param pool
+	 * 		pool qui exécute les tâches
+	 * @throws IOException
+	 * 		si le fichier ne peut pas être lu
+	 */
+	ChargementParallele(String filename, ForkJoinPool pool) throws IOException {
+		try(FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			this.contenu = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		this.charset = Charset.defaultCharset();
+		this.pool = pool;
+	}
+
+	/**
+	 * lit le fichier et construit l'arbre
+	 * @return racine de l'arbre construit
+	 */
+	Noeud charger() {
+		Paquets paquets = pool.invoke(new Decoupage(0, contenu.limit()));
+
+		List<Construction> constructions = new ArrayList<>();
+		for(Map.Entry<Character, List<String>> paquet : paquets.parLettre.entrySet()) {
+			constructions.add(new Construction(paquet.getKey(), paquet.getValue()));
+		}
+		pool.invoke(new RecursiveTask<Void>() {
+			@Override
+			protected Void compute() {
+				invokeAll(constructions);
+				return null;
+			}
+		});
+
+		Noeud racine = new Noeud();
+		for(Construction construction : constructions) {
+			racine.addNoeudSuivant(construction.join());
+			numberWord += construction.numberWord;
+		}
+		if(paquets.racineFinMot) {
+			racine.setEndWord();
+			numberWord++;
+		}
+		racine.ajouterMots(numberWord);
+		return racine;
+	}
+
+	/**
+	 * retourne le nombre de mots de l'arbre construit
+	 * @return le nombre de mots
+	 */
+	int getNumberWord() {
+		return numberWord;
+	}
+
+	/**
+	 * mots d'une plage rangés par première lettre, dans l'ordre du fichier
+	 */
+	private static final class Paquets {
+		private final Map<Character, List<String>> parLettre = new LinkedHashMap<>();
+		private boolean racineFinMot;
+
+		/**
+		 * ajoute les mots d'une plage qui suit celle-ci dans le fichier
+		 * @param suivants
+		 * 		paquets de la plage suivante
+		 */
+		void fusionner(Paquets suivants) {
+			for(Map.Entry<Character, List<String>> paquet : suivants.parLettre.entrySet()) {
+				List<String> mots = parLettre.get(paquet.getKey());
+				if(mots == null) {
+					parLettre.put(paquet.getKey(), paquet.getValue());
+				}else {
+					mots.addAll(paquet.getValue());
+				}
+			}
+			racineFinMot |= suivants.racineFinMot;
+		}
+	}
+
+	/**
+	 * découpe récursivement une plage d'octets et range ses lignes
+	 */
+	private final class Decoupage extends RecursiveTask<Paquets> {
+		private static final long serialVersionUID = 1L;
+		private final int debut;
+		private final int fin;
+
+		Decoupage(int debut, int fin) {
+			this.debut = debut;
+			this.fin = fin;
+		}
+
+		@Override
+		protected Paquets compute() {
+			if(fin - debut > SEUIL) {
+				int milieu = finDeLigne(debut + (fin - debut) / 2);
+				if(milieu < fin) {
+					Decoupage gauche = new Decoupage(debut, milieu);
+					Decoupage droite = new Decoupage(milieu, fin);
+					droite.fork();
+					Paquets paquets = gauche.compute();
+					paquets.fusionner(droite.join());
+					return paquets;
+				}
+			}
+			return lire();
+		}
+
+		/**
+		 * retourne la position qui suit le prochain '\n'
+		 * @param position
+		 * 		position de départ
+		 * @return début de la ligne suivante
+		 */
+		private int finDeLigne(int position) {
+			while(position < fin && contenu.get(position) != '\n') {
+				position++;
+			}
+			return Math.min(position + 1, fin);
+		}
+
+		/**
+		 * lit les lignes de la plage comme BufferedReader.readLine
+		 * @return les mots de la plage rangés par première lettre
+		 */
+		private Paquets lire() {
+			Paquets paquets = new Paquets();
+			byte[] octets = new byte[fin - debut];
+			contenu.slice().position(debut).get(octets);
+			int ligne = 0;
+			for(int i = 0; i <= octets.length; i++) {
+				if(i == octets.length ? ligne < i : octets[i] == '\n' || octets[i] == '\r') {
+					ranger(paquets, new String(octets, ligne, i - ligne, charset));
+					if(i + 1 < octets.length && octets[i] == '\r' && octets[i + 1] == '\n') {
+						i++;
+					}
+					ligne = i + 1;
+				}
+			}
+			return paquets;
+		}
+
+		/**
+		 * range une ligne du fichier comme insertWord l'insèrerait
+		 * @param paquets
+		 * 		paquets de la plage
+		 * @param line
+		 * 		ligne lue
+		 */
+		private void ranger(Paquets paquets, String line) {
+			String word = line.toLowerCase().trim();
+			String symboles = LexicographicTree.symboles(word);
+			if(symboles.isEmpty()) {
+				// même test par référence que insertWord : une ligne vide marque la racine
+				paquets.racineFinMot |= word != "";
+				return;
+			}
+			List<String> mots = paquets.parLettre.get(symboles.charAt(0));
+			if(mots == null) {
+				mots = new ArrayList<>();
+				paquets.parLettre.put(symboles.charAt(0), mots);
+			}
+			mots.add(symboles);
+		}
+	}
+
+	/**
+	 * construit le sous-arbre des mots qui commencent par une même lettre
+	 */
+	private static final class Construction extends RecursiveTask<Noeud> {
+		private static final long serialVersionUID = 1L;
+		private final char letter;
+		private final List<String> mots;
+		private int numberWord;
+
+		Construction(char letter, List<String> mots) {
+			this.letter = letter;
+			this.mots = mots;
+		}
+
+		@Override
+		protected Noeud compute() {
+			Noeud premier = new Noeud(letter);
+			for(String mot : mots) {
+				if(LexicographicTree.inserer(premier, mot, 1)) {
+					numberWord++;
+				}
+			}
+			return premier;
+		}
+	}
+}
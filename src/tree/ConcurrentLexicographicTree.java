@@ -0,0 +1,362 @@
+package tree;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lexicographic tree that can be read and modified by many threads at once.
+ * Readers never block nor take a lock. A node publishes its children as an
+ * immutable array, replaced with a compare-and-set when a child is added,
+ * and a word is inserted when the compare-and-set of its end-of-word flag
+ * succeeds: once insertWord returns, every later containsWord in any thread
+ * finds the word. Enumerations are weakly consistent, they see the words
+ * inserted before they start and may see the ones inserted meanwhile.
+ */
+public class ConcurrentLexicographicTree implements Lexicon {
+	private final NoeudPartage arbre = new NoeudPartage('\0');
+	private final LongAdder numberWord = new LongAdder();
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : creates an empty tree.
+	 */
+	public ConcurrentLexicographicTree() {
+	}
+
+	/**
+	 * Constructor : creates a tree populated with words
+	 * @param filename A text file containing the words to be inserted in the tree
+	 */
+	public ConcurrentLexicographicTree(String filename) {
+		try(BufferedReader br = new BufferedReader(new FileReader(new File(filename)))){
+			String line = br.readLine();
+			while(line != null){
+				insertWord(line);
+				line = br.readLine();
+			}
+		}catch (IOException e) {
+
+		}
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Returns the number of words present in the tree.
+	 * The count is exact when no insertion is in progress.
+	 * @return The number of words present in the tree
+	 */
+	@Override
+	public int size() {
+		return numberWord.intValue();
+	}
+
+	/**
+	 * Inserts a word in the tree if not already present. Letters are folded
+	 * like in LexicographicTree.insertWord. Safe to call from any thread.
+	 * @param word A word
+	 */
+	public void insertWord(String word) {
+		if(word == null) {
+			return;
+		}
+		NoeudPartage noeudActuel = this.arbre;
+		if(!word.isEmpty()) {
+			word = word.toLowerCase().trim();
+			if(word.isEmpty()) {
+				return;
+			}
+			// comme dans LexicographicTree, un mot sans lettre marque la racine
+			String symboles = LexicographicTree.symboles(word);
+			for(int i = 0; i < symboles.length(); i++) {
+				noeudActuel = noeudActuel.ajouter(symboles.charAt(i));
+			}
+		}
+		if(noeudActuel.setEndWord()) {
+			numberWord.increment();
+		}
+	}
+
+	@Override
+	public boolean containsWord(String word) {
+		if(word == null)
+			return false;
+		NoeudPartage noeud = checkPrefix(word);
+		return noeud != null && noeud.isEndWord();
+	}
+
+	@Override
+	public boolean containsPrefix(String prefix) {
+		if(prefix == null)
+			return false;
+		return checkPrefix(prefix) != null;
+	}
+
+	@Override
+	public List<String> getWords(String prefix) {
+		List<String> wordSave = new ArrayList<>();
+		prefix = prefix == null ? "" : LexicographicTree.normaliserWord(prefix);
+		NoeudPartage noeud = checkPrefix(prefix);
+		if(noeud == null) {
+			return wordSave;
+		}
+		if(prefix.length() > 0 && noeud.isEndWord()) {
+			wordSave.add(prefix);
+		}
+		getWord(wordSave, new StringBuilder(prefix), noeud, Integer.MAX_VALUE);
+		return wordSave;
+	}
+
+	@Override
+	public List<String> getWordsOfLength(int length) {
+		List<String> wordSave = new ArrayList<>();
+		if(length > 0) {
+			getWord(wordSave, new StringBuilder(), this.arbre, length);
+		}
+		return wordSave;
+	}
+
+	/**
+	 * Returns a new cursor positioned on the empty prefix.
+	 * The cursor sees concurrent insertions and never blocks them.
+	 * @return A cursor over the tree
+	 */
+	@Override
+	public TrieCursor cursor() {
+		return new Curseur(this.arbre);
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * vérifie si le préfix existe dans l'arbre
+	 * @param prefix
+	 * 		préfix qu'on cherche
+	 * @return noeud du préfix, null s'il n'existe pas
+	 */
+	private NoeudPartage checkPrefix(String prefix) {
+		prefix = LexicographicTree.normaliserWord(prefix);
+		NoeudPartage courant = this.arbre;
+		for(int i = 0; i < prefix.length() && courant != null; i++) {
+			courant = courant.getNoeudCourant(prefix.charAt(i));
+		}
+		return courant;
+	}
+
+	/**
+	 * parcours en profondeur qui ajoute les mots dans l'ordre alphabétique
+	 * @param listWords
+	 * 		liste des mots trouvés
+	 * @param wordBuild
+	 * 		mot en construction
+	 * @param actuel
+	 * 		noeud courant
+	 * @param longueur
+	 * 		longueur exacte des mots voulus, Integer.MAX_VALUE pour tous
+	 */
+	private void getWord(List<String> listWords, StringBuilder wordBuild, NoeudPartage actuel, int longueur) {
+		for(NoeudPartage suivant : actuel.enfants.noeuds) {
+			wordBuild.append(suivant.letter);
+			if(suivant.isEndWord() && (longueur == Integer.MAX_VALUE || wordBuild.length() == longueur)) {
+				listWords.add(wordBuild.toString());
+			}
+			if(wordBuild.length() < longueur) {
+				getWord(listWords, wordBuild, suivant, longueur);
+			}
+			wordBuild.setLength(wordBuild.length() - 1);
+		}
+	}
+
+	/**
+	 * enfants d'un noeud, jamais modifiés une fois publiés. Comme dans Noeud,
+	 * les enfants dont la lettre est dans Noeud.SYMBOLES sont rangés dans
+	 * l'ordre des bits de l'occupation, suivis des autres triés par lettre
+	 */
+	private static final class Enfants {
+		static final Enfants VIDE = new Enfants(0, new NoeudPartage[0]);
+
+		final int occupation;
+		final NoeudPartage[] noeuds;
+
+		Enfants(int occupation, NoeudPartage[] noeuds) {
+			this.occupation = occupation;
+			this.noeuds = noeuds;
+		}
+
+		/**
+		 * retourne l'enfant qui porte la lettre
+		 * @param letter
+		 * 		lettre cherchée
+		 * @return l'enfant, null s'il n'existe pas
+		 */
+		NoeudPartage get(char letter) {
+			int index = Noeud.indexSymbole(letter);
+			if(index >= 0) {
+				int bit = 1 << index;
+				return (occupation & bit) == 0 ? null : noeuds[Integer.bitCount(occupation & (bit - 1))];
+			}
+			for(int i = Integer.bitCount(occupation); i < noeuds.length; i++) {
+				if(noeuds[i].letter == letter) {
+					return noeuds[i];
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * retourne une copie des enfants avec un enfant de plus
+		 * @param enfant
+		 * 		enfant absent à ajouter
+		 * @return les nouveaux enfants
+		 */
+		Enfants avec(NoeudPartage enfant) {
+			int index = Noeud.indexSymbole(enfant.letter);
+			int occupation = this.occupation;
+			int position;
+			if(index >= 0) {
+				occupation |= 1 << index;
+				position = Integer.bitCount(this.occupation & ((1 << index) - 1));
+			}else {
+				position = Integer.bitCount(occupation);
+				while(position < noeuds.length && noeuds[position].letter < enfant.letter) {
+					position++;
+				}
+			}
+			NoeudPartage[] copie = new NoeudPartage[noeuds.length + 1];
+			System.arraycopy(noeuds, 0, copie, 0, position);
+			copie[position] = enfant;
+			System.arraycopy(noeuds, position, copie, position + 1, noeuds.length - position);
+			return new Enfants(occupation, copie);
+		}
+	}
+
+	/**
+	 * noeud dont les enfants et la fin de mot sont publiés par compare-and-set
+	 */
+	private static final class NoeudPartage {
+		private static final AtomicReferenceFieldUpdater<NoeudPartage, Enfants> ENFANTS =
+				AtomicReferenceFieldUpdater.newUpdater(NoeudPartage.class, Enfants.class, "enfants");
+		private static final AtomicIntegerFieldUpdater<NoeudPartage> FIN_MOT =
+				AtomicIntegerFieldUpdater.newUpdater(NoeudPartage.class, "finMot");
+
+		final char letter;
+		volatile Enfants enfants = Enfants.VIDE;
+		volatile int finMot;
+
+		NoeudPartage(char letter) {
+			this.letter = letter;
+		}
+
+		boolean isEndWord() {
+			return finMot != 0;
+		}
+
+		/**
+		 * indique que le noeud est la fin d'un mot
+		 * @return true si le noeud ne l'était pas encore
+		 */
+		boolean setEndWord() {
+			return finMot == 0 && FIN_MOT.compareAndSet(this, 0, 1);
+		}
+
+		NoeudPartage getNoeudCourant(char letter) {
+			return enfants.get(letter);
+		}
+
+		/**
+		 * retourne l'enfant qui porte la lettre, en le créant s'il n'existe
+		 * pas. Si un autre thread ajoute un enfant au même moment, on
+		 * recommence avec ses enfants, et on garde son noeud s'il porte la
+		 * même lettre
+		 * @param letter
+		 * 		lettre de l'enfant
+		 * @return l'enfant publié
+		 */
+		NoeudPartage ajouter(char letter) {
+			NoeudPartage nouveau = null;
+			while(true) {
+				Enfants actuels = enfants;
+				NoeudPartage existant = actuels.get(letter);
+				if(existant != null) {
+					return existant;
+				}
+				if(nouveau == null) {
+					nouveau = new NoeudPartage(letter);
+				}
+				if(ENFANTS.compareAndSet(this, actuels, actuels.avec(nouveau))) {
+					return nouveau;
+				}
+			}
+		}
+	}
+
+	/**
+	 * curseur qui garde la pile des noeuds du préfix courant
+	 */
+	private static final class Curseur implements TrieCursor {
+		private NoeudPartage[] pile = new NoeudPartage[32];
+		private int profondeur;
+
+		Curseur(NoeudPartage racine) {
+			this.pile[0] = racine;
+		}
+
+		@Override
+		public boolean push(char letter) {
+			NoeudPartage suivant = pile[profondeur].getNoeudCourant(LexicographicTree.normaliserLettre(letter));
+			if(suivant == null) {
+				return false;
+			}
+			if(++profondeur == pile.length) {
+				pile = Arrays.copyOf(pile, pile.length * 2);
+			}
+			pile[profondeur] = suivant;
+			return true;
+		}
+
+		@Override
+		public void pop() {
+			if(profondeur == 0) {
+				throw new IllegalStateException();
+			}
+			pile[profondeur--] = null;
+		}
+
+		@Override
+		public boolean isWord() {
+			return pile[profondeur].isEndWord();
+		}
+
+		@Override
+		public boolean hasChildren() {
+			return pile[profondeur].enfants.noeuds.length > 0;
+		}
+
+		@Override
+		public int depth() {
+			return profondeur;
+		}
+
+		@Override
+		public void reset() {
+			while(profondeur > 0) {
+				pile[profondeur--] = null;
+			}
+		}
+	}
+}
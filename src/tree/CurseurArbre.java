@@ -0,0 +1,77 @@
+package tree;
+
+import java.util.Arrays;
+
+/**
+ * curseur qui garde la pile des noeuds du préfix courant d'un arbre
+ */
+final class CurseurArbre implements TrieCursor {
+
+	private Noeud[] pile = new Noeud[32];
+	private int profondeur;
+
+	/**
+	 * constructeur du curseur placé sur la racine
+	 * @param racine
+	 * 		racine de l'arbre
+	 */
+	CurseurArbre(Noeud racine) {
+		this.pile[0] = racine;
+	}
+
+	@Override
+	public boolean push(char letter) {
+		Noeud suivant = pile[profondeur].getNoeudCourant(LexicographicTree.normaliserLettre(letter));
+		if(suivant == null) {
+			return false;
+		}
+		if(++profondeur == pile.length) {
+			pile = Arrays.copyOf(pile, pile.length * 2);
+		}
+		pile[profondeur] = suivant;
+		return true;
+	}
+
+	@Override
+	public boolean pushSymbol(int code) {
+		Noeud suivant = pile[profondeur].getNoeudSymbole(code);
+		if(suivant == null) {
+			return false;
+		}
+		if(++profondeur == pile.length) {
+			pile = Arrays.copyOf(pile, pile.length * 2);
+		}
+		pile[profondeur] = suivant;
+		return true;
+	}
+
+	@Override
+	public void pop() {
+		if(profondeur == 0) {
+			throw new IllegalStateException();
+		}
+		pile[profondeur--] = null;
+	}
+
+	@Override
+	public boolean isWord() {
+		return pile[profondeur].isEndWord();
+	}
+
+	@Override
+	public boolean hasChildren() {
+		return pile[profondeur].getNombreSuivant() > 0;
+	}
+
+	@Override
+	public int depth() {
+		return profondeur;
+	}
+
+	@Override
+	public void reset() {
+		while(profondeur > 0) {
+			pile[profondeur--] = null;
+		}
+	}
+}
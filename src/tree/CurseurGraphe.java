@@ -0,0 +1,80 @@
+package tree;
+
+import java.util.Arrays;
+
+/**
+ * curseur qui garde la pile des noeuds du préfix courant d'un dictionnaire
+ * dont les noeuds sont désignés par des entiers, la racine étant 0
+ */
+abstract class CurseurGraphe implements TrieCursor {
+
+	private int[] pile = new int[32];
+	private int profondeur;
+
+	/**
+	 * cherche le noeud enfant portant la lettre
+	 * @param noeud
+	 * 		noeud courant
+	 * @param letter
+	 * 		lettre normalisée
+	 * @return le noeud enfant, -1 s'il n'existe pas
+	 */
+	abstract int enfant(int noeud, char letter);
+
+	/**
+	 * retourne true si le noeud est la fin d'un mot
+	 * @param noeud
+	 * 		noeud à vérifier
+	 * @return true si le noeud est la fin d'un mot
+	 */
+	abstract boolean isEndWord(int noeud);
+
+	/**
+	 * retourne true si le noeud a des enfants
+	 * @param noeud
+	 * 		noeud à vérifier
+	 * @return true si le noeud a des enfants
+	 */
+	abstract boolean hasChildren(int noeud);
+
+	@Override
+	public boolean push(char letter) {
+		int suivant = enfant(pile[profondeur], LexicographicTree.normaliserLettre(letter));
+		if(suivant < 0) {
+			return false;
+		}
+		if(++profondeur == pile.length) {
+			pile = Arrays.copyOf(pile, pile.length * 2);
+		}
+		pile[profondeur] = suivant;
+		return true;
+	}
+
+	@Override
+	public void pop() {
+		if(profondeur == 0) {
+			throw new IllegalStateException();
+		}
+		profondeur--;
+	}
+
+	@Override
+	public boolean isWord() {
+		return isEndWord(pile[profondeur]);
+	}
+
+	@Override
+	public boolean hasChildren() {
+		return hasChildren(pile[profondeur]);
+	}
+
+	@Override
+	public int depth() {
+		return profondeur;
+	}
+
+	@Override
+	public void reset() {
+		profondeur = 0;
+	}
+}
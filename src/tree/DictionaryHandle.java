@@ -0,0 +1,130 @@
+package tree;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Shared reference to the current version of a dictionary, which can be
+ * replaced while it is in use. A reload builds the new dictionary in the
+ * background then publishes it with a single atomic write: readers never
+ * wait, and a reader that took a snapshot with current() keeps using it
+ * until it is done, even if a reload completes meanwhile.
+ */
+public final class DictionaryHandle {
+
+	private final AtomicReference<Version> courante;
+	private final AtomicLong generations = new AtomicLong();
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * constructeur d'une référence sur un dictionnaire déjà chargé
+	 * @param dict
+	 * 		premier dictionnaire publié
+	 */
+	private DictionaryHandle(Lexicon dict) {
+		this.courante = new AtomicReference<>(new Version(dict, generations.getAndIncrement()));
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Creates a handle on a dictionary that is already loaded.
+	 * @param dict The initial dictionary
+	 * @return A handle whose current dictionary is dict
+	 * @throws IllegalArgumentException If dict is null
+	 */
+	public static DictionaryHandle of(Lexicon dict) {
+		if(dict == null)
+			throw new IllegalArgumentException();
+		return new DictionaryHandle(dict);
+	}
+
+	/**
+	 * Creates a handle on a dictionary loaded from a text file.
+	 * @param filename A text file containing the words of the dictionary
+	 * @return A handle whose current dictionary is a tree built from the file
+	 */
+	public static DictionaryHandle load(String filename) {
+		return new DictionaryHandle(new LexicographicTree(filename));
+	}
+
+	/**
+	 * Returns the dictionary published last. Callers should read it once per
+	 * operation and keep the returned snapshot for the whole operation.
+	 * @return The current dictionary
+	 */
+	public Lexicon current() {
+		return courante.get().dict;
+	}
+
+	/**
+	 * Rebuilds the dictionary from a text file in the common fork-join pool,
+	 * then publishes it. See reload(String, Executor).
+	 * @param filename A text file containing the words of the dictionary
+	 * @return A future completed with the reload duration once the new dictionary is published
+	 */
+	public CompletableFuture<Duration> reload(String filename) {
+		return reload(filename, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Rebuilds the dictionary from a text file on an executor, then publishes
+	 * it. The current dictionary stays in use while the new one is built. If
+	 * several reloads overlap, the one started last wins, whatever order
+	 * they finish in. If the file cannot be read the current dictionary is
+	 * kept and the future completes exceptionally.
+	 * @param filename A text file containing the words of the dictionary
+	 * @param executor Executor that builds the new dictionary
+	 * @return A future completed with the reload duration once the new dictionary is published
+	 */
+	public CompletableFuture<Duration> reload(String filename, Executor executor) {
+		long generation = generations.getAndIncrement();
+		return CompletableFuture.supplyAsync(() -> {
+			long startTime = System.nanoTime();
+			if(!new File(filename).canRead()) {
+				throw new UncheckedIOException(new FileNotFoundException(filename));
+			}
+			publier(new Version(new LexicographicTree(filename), generation));
+			return Duration.ofNanos(System.nanoTime() - startTime);
+		}, executor);
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * publie une version sauf si une version plus récente l'a déjà été
+	 * @param version
+	 * 		version à publier
+	 */
+	private void publier(Version version) {
+		courante.accumulateAndGet(version, (actuelle, nouvelle) ->
+			nouvelle.generation > actuelle.generation ? nouvelle : actuelle);
+	}
+
+	/**
+	 * dictionnaire publié et numéro du chargement qui l'a produit
+	 */
+	private static final class Version {
+		final Lexicon dict;
+		final long generation;
+
+		Version(Lexicon dict, long generation) {
+			this.dict = dict;
+			this.generation = generation;
+		}
+	}
+}
@@ -0,0 +1,388 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionnaire en lecture seule obtenu en figeant un LexicographicTree :
+ * les sous-arbres de suffixes identiques sont fusionnés pour former un
+ * graphe orienté acyclique de mots (DAWG) minimal, stocké dans des
+ * tableaux de types primitifs.
+ */
+public final class FrozenLexicon implements Lexicon {
+
+	private static final int RACINE = 0;
+
+	/*
+	 * les arcs du noeud n sont les cases [premierArc[n], premierArc[n+1])
+	 * de lettres et cibles, triées par lettre
+	 */
+	private final int[] premierArc;
+	private final char[] lettres;
+	private final int[] cibles;
+	private final BitSet finMot;
+	private final int numberWord;
+	private final int hauteur;
+	private final int sourceNodeCount;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * construit le DAWG minimal équivalent à l'arbre fourni
+	 * @param arbre
+	 * 		racine de l'arbre à figer
+	 * @param numberWord
+	 * 		nombre de mots de l'arbre
+	 */
+	FrozenLexicon(Noeud arbre, int numberWord) {
+		Construction construction = new Construction();
+		int racine = construction.minimiser(arbre);
+		int nombreNoeuds = construction.suivant;
+
+		/*
+		 * les identifiants sont donnés en post-ordre, la racine a donc le
+		 * plus grand : on renumérote pour qu'elle devienne le noeud 0
+		 */
+		this.premierArc = new int[nombreNoeuds + 1];
+		this.lettres = new char[construction.nombreArcs];
+		this.cibles = new int[construction.nombreArcs];
+		this.finMot = new BitSet(nombreNoeuds);
+		int arc = 0;
+		for(int n = 0; n < nombreNoeuds; n++) {
+			int ancien = racine - n;
+			this.premierArc[n] = arc;
+			if(construction.finMot.get(ancien)) {
+				this.finMot.set(n);
+			}
+			for(int a = construction.premierArc[ancien]; a < construction.premierArc[ancien + 1]; a++) {
+				this.lettres[arc] = construction.lettres[a];
+				this.cibles[arc] = racine - construction.cibles[a];
+				arc++;
+			}
+		}
+		this.premierArc[nombreNoeuds] = arc;
+		this.numberWord = numberWord;
+		this.hauteur = construction.hauteur;
+		this.sourceNodeCount = construction.noeudsSource;
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	@Override
+	public int size() {
+		return numberWord;
+	}
+
+	@Override
+	public boolean containsWord(String word) {
+		if(word == null)
+			return false;
+		int noeud = checkPrefix(word);
+		return noeud >= 0 && finMot.get(noeud);
+	}
+
+	@Override
+	public boolean containsPrefix(String prefix) {
+		if(prefix == null)
+			return false;
+		return checkPrefix(prefix) >= 0;
+	}
+
+	@Override
+	public List<String> getWords(String prefix) {
+		List<String> wordSave = new ArrayList<>();
+		prefix = prefix == null ? "" : LexicographicTree.normaliserWord(prefix);
+		int noeud = checkPrefix(prefix);
+		if(noeud < 0) {
+			return wordSave;
+		}
+		if(prefix.length() > 0 && finMot.get(noeud)) {
+			wordSave.add(prefix);
+		}
+		char[] wordBuild = Arrays.copyOf(prefix.toCharArray(), prefix.length() + hauteur);
+		getWord(wordSave, wordBuild, prefix.length(), noeud, Integer.MAX_VALUE);
+		return wordSave;
+	}
+
+	@Override
+	public List<String> getWordsOfLength(int length) {
+		List<String> wordSave = new ArrayList<>();
+		if(length > 0 && length <= hauteur) {
+			getWord(wordSave, new char[length], 0, RACINE, length);
+		}
+		return wordSave;
+	}
+
+	@Override
+	public TrieCursor cursor() {
+		return new CurseurGraphe() {
+			@Override
+			int enfant(int noeud, char letter) {
+				return getNoeudCourant(noeud, letter);
+			}
+
+			@Override
+			boolean isEndWord(int noeud) {
+				return finMot.get(noeud);
+			}
+
+			@Override
+			boolean hasChildren(int noeud) {
+				return premierArc[noeud + 1] > premierArc[noeud];
+			}
+		};
+	}
+
+	/**
+	 * Returns the number of nodes of the minimal word graph.
+	 * @return The number of nodes after freezing
+	 */
+	public int nodeCount() {
+		return premierArc.length - 1;
+	}
+
+	/**
+	 * Returns the number of edges of the minimal word graph.
+	 * @return The number of edges after freezing
+	 */
+	public int edgeCount() {
+		return lettres.length;
+	}
+
+	/**
+	 * Returns the number of nodes of the tree this lexicon was frozen from.
+	 * @return The number of nodes before freezing
+	 */
+	public int sourceNodeCount() {
+		return sourceNodeCount;
+	}
+
+	/*
+	 * PACKAGE METHODS
+	 */
+
+	/**
+	 * retourne l'indice du premier arc du noeud, premierArc(n + 1)
+	 * étant la fin de ses arcs
+	 * @param noeud
+	 * 		noeud dont on veut les arcs
+	 * @return indice du premier arc du noeud
+	 */
+	int premierArc(int noeud) {
+		return premierArc[noeud];
+	}
+
+	/**
+	 * retourne la lettre portée par l'arc
+	 * @param arc
+	 * 		indice de l'arc
+	 * @return lettre de l'arc
+	 */
+	char lettre(int arc) {
+		return lettres[arc];
+	}
+
+	/**
+	 * retourne le noeud pointé par l'arc
+	 * @param arc
+	 * 		indice de l'arc
+	 * @return noeud cible de l'arc
+	 */
+	int cible(int arc) {
+		return cibles[arc];
+	}
+
+	/**
+	 * retourne true si le noeud est la fin d'un mot
+	 * @param noeud
+	 * 		noeud à vérifier
+	 * @return true si le noeud est la fin d'un mot
+	 */
+	boolean isEndWord(int noeud) {
+		return finMot.get(noeud);
+	}
+
+	/**
+	 * retourne la longueur du plus long mot
+	 * @return longueur du plus long mot
+	 */
+	int hauteur() {
+		return hauteur;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * cherche l'arc portant la lettre parmi les arcs du noeud
+	 * @param noeud
+	 * 		noeud courant
+	 * @param letter
+	 * 		lettre cherchée
+	 * @return le noeud cible, -1 s'il n'existe pas
+	 */
+	private int getNoeudCourant(int noeud, char letter) {
+		for(int a = premierArc[noeud]; a < premierArc[noeud + 1]; a++) {
+			if(lettres[a] == letter) {
+				return cibles[a];
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * vérifie si le préfix existe dans le graphe
+	 * @param prefix
+	 * 		préfix qu'on cherche
+	 * @return noeud atteint, -1 si le préfix n'existe pas
+	 */
+	private int checkPrefix(String prefix) {
+		prefix = LexicographicTree.normaliserWord(prefix);
+		int courant = RACINE;
+		for(int i = 0; i < prefix.length() && courant >= 0; i++) {
+			courant = getNoeudCourant(courant, prefix.charAt(i));
+		}
+		return courant;
+	}
+
+	/**
+	 * parcours en profondeur qui ajoute les mots dans l'ordre alphabétique
+	 * @param listWords
+	 * 		liste des mots trouvés
+	 * @param wordBuild
+	 * 		mot en construction
+	 * @param length
+	 * 		longueur du mot en construction
+	 * @param noeud
+	 * 		noeud courant
+	 * @param longueurVoulue
+	 * 		longueur exacte des mots voulus, Integer.MAX_VALUE pour tous
+	 */
+	private void getWord(List<String> listWords, char[] wordBuild, int length, int noeud, int longueurVoulue) {
+		for(int a = premierArc[noeud]; a < premierArc[noeud + 1]; a++) {
+			int suivant = cibles[a];
+			wordBuild[length] = lettres[a];
+			if(finMot.get(suivant) && (longueurVoulue == Integer.MAX_VALUE || length + 1 == longueurVoulue)) {
+				listWords.add(new String(wordBuild, 0, length + 1));
+			}
+			if(length + 1 < longueurVoulue) {
+				getWord(listWords, wordBuild, length + 1, suivant, longueurVoulue);
+			}
+		}
+	}
+
+	/**
+	 * état de la minimisation : chaque classe de sous-arbres équivalents
+	 * reçoit un identifiant en post-ordre
+	 */
+	private static final class Construction {
+		private final Map<Signature, Integer> registre = new HashMap<>();
+		private int[] premierArc = new int[1024];
+		private char[] lettres = new char[1024];
+		private int[] cibles = new int[1024];
+		private final BitSet finMot = new BitSet();
+		private int[] profondeurs = new int[1024];
+		private int suivant;
+		private int nombreArcs;
+		private int hauteur;
+		private int noeudsSource;
+
+		/**
+		 * minimise le sous-arbre et retourne l'identifiant de sa classe
+		 * @param noeud
+		 * 		racine du sous-arbre
+		 * @return identifiant de la classe du sous-arbre
+		 */
+		int minimiser(Noeud noeud) {
+			noeudsSource++;
+			int nombre = noeud.getNombreSuivant();
+			Noeud[] enfants = noeud.getNoeudSuivant();
+
+			int[] cle = new int[1 + 2 * nombre];
+			cle[0] = noeud.isEndWord() ? 1 : 0;
+			for(int i = 0; i < nombre; i++) {
+				cle[1 + 2 * i] = enfants[i].getLetter();
+				cle[2 + 2 * i] = minimiser(enfants[i]);
+			}
+
+			Signature signature = new Signature(cle);
+			Integer existant = registre.get(signature);
+			if(existant != null) {
+				return existant;
+			}
+			int id = suivant++;
+			registre.put(signature, id);
+			if(id + 2 > premierArc.length) {
+				premierArc = Arrays.copyOf(premierArc, premierArc.length * 2);
+			}
+			if(nombreArcs + nombre > lettres.length) {
+				int capacite = Math.max(lettres.length * 2, nombreArcs + nombre);
+				lettres = Arrays.copyOf(lettres, capacite);
+				cibles = Arrays.copyOf(cibles, capacite);
+			}
+			premierArc[id] = nombreArcs;
+			for(int i = 0; i < nombre; i++) {
+				lettres[nombreArcs] = (char) cle[1 + 2 * i];
+				cibles[nombreArcs] = cle[2 + 2 * i];
+				nombreArcs++;
+			}
+			premierArc[id + 1] = nombreArcs;
+			if(cle[0] == 1) {
+				finMot.set(id);
+			}
+			hauteur = Math.max(hauteur, profondeur(id));
+			return id;
+		}
+
+		/**
+		 * longueur du plus long chemin qui part du noeud
+		 * @param id
+		 * 		identifiant du noeud
+		 * @return longueur du plus long chemin
+		 */
+		private int profondeur(int id) {
+			int max = 0;
+			for(int a = premierArc[id]; a < premierArc[id + 1]; a++) {
+				max = Math.max(max, 1 + profondeurs[cibles[a]]);
+			}
+			if(id >= profondeurs.length) {
+				profondeurs = Arrays.copyOf(profondeurs, Math.max(profondeurs.length * 2, id + 1));
+			}
+			profondeurs[id] = max;
+			return max;
+		}
+	}
+
+	/**
+	 * clé d'une classe de sous-arbres : fin de mot puis couples
+	 * (lettre, classe de l'enfant)
+	 */
+	private static final class Signature {
+		private final int[] cle;
+		private final int hash;
+
+		Signature(int[] cle) {
+			this.cle = cle;
+			this.hash = Arrays.hashCode(cle);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Signature && Arrays.equals(cle, ((Signature) o).cle);
+		}
+	}
+}
@@ -5,14 +5,31 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class LexicographicTree {
+public class LexicographicTree implements Lexicon {
 	private Noeud arbre;
 	private int numberWord = 0;
+	/*
+	 * mesures du dernier appel à stats(), remises à null par toute 
+	 * modification de l'arbre
+	 */
+	private TreeStats stats;
+	/*
+	 * table de saut optionnelle vers les noeuds d'une profondeur, null si
+	 * elle n'est pas activée ; tenue à jour par insertWord et removeWord
+	 */
+	private TableSaut saut;
+	
 	/*
 	 * CONSTRUCTORS
 	 */
@@ -29,7 +46,39 @@ public class LexicographicTree {
 	 * @param filename A text file containing the words to be inserted in the tree 
 	 */
 	public LexicographicTree(String filename) {
+		this(filename, false);
+	}
+	
+	/**
+	 * Constructor : creates a lexicographic tree populated with words 
+	 * @param filename A text file containing the words to be inserted in the tree 
+	 * @param parallel True to split the file on line boundaries and build the 
+	 * subtree of each first letter in the common fork-join pool, false to insert 
+	 * the words one by one. Both modes build the same tree.
+	 */
+	public LexicographicTree(String filename, boolean parallel) {
 		this();
+		if(parallel) {
+			try {
+				ChargementParallele chargement = new ChargementParallele(filename, ForkJoinPool.commonPool());
+				this.arbre = chargement.charger();
+				this.numberWord = chargement.getNumberWord();
+			}catch (IOException e) {
+				
+			}
+			return;
+		}
+		if(StandardCharsets.UTF_8.equals(Charset.defaultCharset())) {
+			// même arbre que la lecture ligne par ligne, sans chaîne par ligne
+			ChargementOctets chargement = new ChargementOctets(this.arbre);
+			try {
+				chargement.charger(filename);
+			}catch (IOException e) {
+				
+			}
+			this.numberWord = chargement.getNumberWord();
+			return;
+		}
 		try(BufferedReader br = new BufferedReader(new FileReader(new File(filename)))){
 			String line = br.readLine();
 			while(line != null){
@@ -65,38 +114,111 @@ public class LexicographicTree {
 		if(!arbre.isEndWord() && word == "") {
 			this.arbre.setLetter('\0');
 			numberWord++;
+			stats = null;
 			this.arbre.setEndWord();
+			this.arbre.ajouterMots(1);
 			return;
 		}
 		word = word.toLowerCase().trim();
 		
-		Noeud noeudActuel = this.arbre;
-	    for(int i = 0; i < word.length(); i++) {
-	    	char letter = remplaceDiacritque(word.charAt(i));
-	    	letter = Character.toUpperCase(letter);
-	    	if(letter == '\'' || letter == '-' || Character.isLetter(letter)) {
-	    		Noeud noeudSuivant = new Noeud(letter);
-		    	if(noeudActuel.getNoeudSuivant() == null) { 
-		    		noeudActuel.addNoeudSuivant(noeudSuivant);
-		   			noeudActuel = noeudSuivant;
-		   		}else {
-		   			Noeud next = noeudActuel.getNoeudCourant(letter);
-		   			if(next == null) {
-		   				noeudActuel.addNoeudSuivant(noeudSuivant);
-		   				noeudActuel = noeudSuivant;
-		   			}else {
-		   				noeudActuel = next;
-		   			}
-		   		}
-	   		}
-	   	}
-	    if(!noeudActuel.isEndWord() && word != "") {
+	    String symboles = symboles(word);
+	    if(word != "" && inserer(this.arbre, symboles, 0)) {
 	   		numberWord++;
-	   		noeudActuel.setEndWord();
+	   		stats = null;
+	   		if(saut != null && symboles.length() >= saut.profondeur()) {
+	   			saut.actualiser(this.arbre, symboles.toCharArray());
+	   		}
 	   	}
 		
 	}
 	
+	/**
+	 * Removes a word from the lexicographic tree if present. The nodes that 
+	 * no longer lead to any word are detached from the tree.
+	 * @param word A word, folded like in containsWord
+	 * @return True if the word was present, false otherwise
+	 */
+	public boolean removeWord(String word) {
+		if(word == null)
+			return false;
+		String symboles = normaliserWord(word);
+		Noeud[] chemin = new Noeud[symboles.length() + 1];
+		chemin[0] = this.arbre;
+		for(int i = 0; i < symboles.length(); i++) {
+			chemin[i + 1] = chemin[i].getNoeudCourant(symboles.charAt(i));
+			if(chemin[i + 1] == null) {
+				return false;
+			}
+		}
+		if(!chemin[symboles.length()].isEndWord()) {
+			return false;
+		}
+		chemin[symboles.length()].clearEndWord();
+		for(Noeud noeud : chemin) {
+			noeud.ajouterMots(-1);
+		}
+		for(int i = symboles.length(); i > 0 && chemin[i].getNombreMots() == 0; i--) {
+			chemin[i - 1].removeNoeudSuivant(chemin[i]);
+		}
+		numberWord--;
+		stats = null;
+		if(saut != null && symboles.length() >= saut.profondeur()) {
+			saut.actualiser(this.arbre, symboles.toCharArray());
+		}
+		return true;
+	}
+	
+	/**
+	 * Shrinks the child array of every node to its exact size. Child arrays 
+	 * grow by doubling on insertion and are not shrunk by removeWord, so a 
+	 * long-running process can call this after heavy insertion or removal.
+	 */
+	public void compact() {
+		compacter(this.arbre);
+		stats = null;
+	}
+	
+	/**
+	 * Enables, replaces or removes the prefix jump table. The table has one 
+	 * entry per sequence of depth symbols of Alphabet.FRENCH (784 entries for 
+	 * depth 2, 21952 for depth 3) pointing to the node of that prefix, so 
+	 * containsWord and containsPrefix start their walk at that depth. It is 
+	 * kept up to date by insertWord and removeWord.
+	 * @param depth 2 or 3 to build the table for prefixes of that length, 0 to remove it
+	 * @throws IllegalArgumentException If depth is not 0, 2 or 3
+	 */
+	public void setJumpTableDepth(int depth) {
+		if(depth != 0 && depth != 2 && depth != 3) {
+			throw new IllegalArgumentException("Jump table depth must be 0, 2 or 3: " + depth);
+		}
+		this.saut = depth == 0 ? null : new TableSaut(this.arbre, depth);
+	}
+	
+	/**
+	 * Returns the estimated heap used by the prefix jump table.
+	 * @return The size of the table in bytes, 0 if it is not enabled
+	 */
+	public long jumpTableBytes() {
+		TableSaut table = this.saut;
+		return table == null ? 0 : table.tailleOctets();
+	}
+	
+	/**
+	 * Returns the shape and estimated memory cost of the tree. The measures 
+	 * take one pass over the nodes and are kept until the tree is modified, 
+	 * so calling this repeatedly, for example from a metrics endpoint, only 
+	 * costs a walk after an insertion, a removal or compact().
+	 * @return The measures of the tree in its current state
+	 */
+	public TreeStats stats() {
+		TreeStats mesures = this.stats;
+		if(mesures == null) {
+			mesures = new TreeStats(this.arbre);
+			this.stats = mesures;
+		}
+		return mesures;
+	}
+	
 	/**
 	 * Determines if a word is present in the lexicographic tree.
 	 * @param word A word
@@ -108,10 +230,32 @@ public class LexicographicTree {
 		if(word == "" && this.arbre.isEndWord())
 			return true;
 		
-    	Noeud noeudActuel = checkPrefix(word, this.arbre);
+    	Noeud noeudActuel = descendre(normaliserCle(word));
     	return noeudActuel != null && noeudActuel.isEndWord();
 	}
 	
+	/**
+	 * Determines for each word of a batch if it is present in the lexicographic tree.
+	 * The words are sorted internally so that a prefix shared by consecutive 
+	 * words is walked only once.
+	 * @param words The words to look for, null entries are never present
+	 * @return A set whose bit i is set if and only if containsWord(words[i]) is true
+	 */
+	public BitSet containsAll(String[] words) {
+		BitSet found = new BitSet(words.length);
+		char[][] cles = new char[words.length][];
+		int[] ordre = new int[words.length];
+		int nombre = 0;
+		for(int i = 0; i < words.length; i++) {
+			if(words[i] != null) {
+				cles[i] = normaliserCle(words[i]);
+				ordre[nombre++] = i;
+			}
+		}
+		containsAll(found, cles, ordre, 0, nombre, 0, this.arbre);
+		return found;
+	}
+	
 	/**
 	 * Determines if a prefix is present in the lexicographic tree.
 	 * @param prefix A prefix
@@ -123,7 +267,7 @@ public class LexicographicTree {
 		if(prefix == "" && this.arbre.isEndWord())
 			return true;
 		
-		return checkPrefix(prefix, this.arbre) != null;
+		return descendre(normaliserCle(prefix)) != null;
 	}
 	
 	/**
@@ -135,13 +279,62 @@ public class LexicographicTree {
 	public List<String> getWords(String prefix) {
 		List<String> wordSave = new ArrayList<>();
 		
-		prefix = prefix == null ? "" : normaliserWord(prefix);
-    	getWord(wordSave, prefix, "", this.arbre);
-    	Collections.sort(wordSave);
+		visitWords(prefix, (word, length) -> {
+			wordSave.add(new String(word, 0, length));
+			return WordVisitor.Result.CONTINUE;
+		});
     	
     	return wordSave;
 	}
 
+	/**
+	 * Returns one page of the alphabetic list of words starting with the supplied prefix.
+	 * Whole subtrees before the page are skipped using their word counts.
+	 * @param prefix Expected prefix, all words if null or empty
+	 * @param offset Number of words to skip
+	 * @param limit Maximum number of words returned
+	 * @return The words at positions [offset, offset + limit) of getWords(prefix)
+	 * @throws IllegalArgumentException If offset or limit is negative
+	 */
+	public List<String> getWords(String prefix, int offset, int limit) {
+		if(offset < 0 || limit < 0) 
+			throw new IllegalArgumentException();
+		List<String> wordSave = new ArrayList<>();
+		
+		prefix = prefix == null ? "" : normaliserWord(prefix);
+		Noeud noeud = checkPrefix(prefix, this.arbre);
+		if(noeud == null || limit == 0) {
+			return wordSave;
+		}
+		if(prefix.length() > 0 && noeud.isEndWord()) {
+			if(offset == 0) {
+				wordSave.add(prefix);
+			}else {
+				offset--;
+			}
+		}
+		getPage(wordSave, new StringBuilder(prefix), noeud, offset, limit);
+		return wordSave;
+	}
+	
+	/**
+	 * Returns the number of words starting with the supplied prefix, 
+	 * that is getWords(prefix).size(), in O(|prefix|).
+	 * @param prefix Expected prefix, all words if null or empty
+	 * @return The number of words starting with the prefix
+	 */
+	public int countWords(String prefix) {
+		prefix = prefix == null ? "" : prefix;
+		Noeud noeud = checkPrefix(prefix, this.arbre);
+		if(noeud == null) {
+			return 0;
+		}
+		if(noeud == this.arbre && noeud.isEndWord()) {
+			return noeud.getNombreMots() - 1;
+		}
+		return noeud.getNombreMots();
+	}
+	
 	/**
 	 * Returns an alphabetic list of all words of a given length.
 	 * If 'length' is lower than or equal to zero, an empty list is returned.
@@ -150,70 +343,398 @@ public class LexicographicTree {
 	 */
 	public List<String> getWordsOfLength(int length) {
 		List<String> wordSave = new ArrayList<>();
-    	
-	    getWordLength(wordSave, length, "", this.arbre);
-	    Collections.sort(wordSave);
+    	if(length <= 0) {
+    		return wordSave;
+    	}
+	    visitWords("", new WordVisitor() {
+	    	@Override
+	    	public Result preVisitPrefix(char[] prefix, int n) {
+	    		return n <= length ? Result.CONTINUE : Result.SKIP_SUBTREE;
+	    	}
+	    	
+	    	@Override
+	    	public Result visitWord(char[] word, int n) {
+	    		if(n == length) {
+	    			wordSave.add(new String(word, 0, n));
+	    		}
+	    		return Result.CONTINUE;
+	    	}
+	    });
 	    
     	return wordSave;
 	}
+	
+	/**
+	 * Passes the words starting with the supplied prefix to a visitor, in 
+	 * the order of getWords(prefix). The words are written in one buffer 
+	 * reused for the whole traversal, so no object is created per word; the 
+	 * visitor can skip the words extending a prefix or stop the traversal.
+	 * @param prefix Expected prefix, all words if null or empty
+	 * @param visitor Visitor called for each prefix and each word
+	 */
+	public void visitWords(String prefix, WordVisitor visitor) {
+		prefix = prefix == null ? "" : normaliserWord(prefix);
+		Noeud noeud = checkPrefix(prefix, this.arbre);
+		if(noeud != null) {
+			char[] mot = Arrays.copyOf(prefix.toCharArray(), prefix.length() + 32);
+			visiter(visitor, new char[][] {mot}, prefix.length(), noeud);
+		}
+	}
+	
+	/**
+	 * Returns a lazy stream of the words starting with the supplied prefix, 
+	 * in the order of getWords(prefix). Words are produced while the stream 
+	 * is consumed, with a memory use bounded by the depth of the tree, and a 
+	 * parallel stream splits the traversal between subtrees.
+	 * The tree must not be modified while the stream is consumed.
+	 * @param prefix Expected prefix, all words if null or empty
+	 * @return The stream of words starting with the prefix
+	 */
+	public Stream<String> words(String prefix) {
+		prefix = prefix == null ? "" : normaliserWord(prefix);
+		Noeud noeud = checkPrefix(prefix, this.arbre);
+		if(noeud == null) {
+			return Stream.empty();
+		}
+		boolean emettre = prefix.length() > 0 && noeud.isEndWord();
+		return StreamSupport.stream(new SpliterateurMots(prefix, noeud, emettre, -1), false);
+	}
+	
+	/**
+	 * Returns a lazy stream of the words of a given length, in the order of 
+	 * getWordsOfLength(length). See words(String).
+	 * @param length Expected word length
+	 * @return The stream of words with the given length
+	 */
+	public Stream<String> wordsOfLength(int length) {
+		if(length <= 0) {
+			return Stream.empty();
+		}
+		return StreamSupport.stream(new SpliterateurMots("", this.arbre, false, length), false);
+	}
+	
+	/**
+	 * Returns a lazy stream of the words matching a glob pattern, in 
+	 * alphabetic order. See WordPattern.compile(String) for the syntax.
+	 * Only the branches whose prefix can still match are traversed.
+	 * The tree must not be modified while the stream is consumed.
+	 * @param pattern A glob pattern, such as "B?T*" or "??ISON"
+	 * @return The stream of words matching the pattern
+	 * @throws IllegalArgumentException If the pattern is not valid
+	 */
+	public Stream<String> match(String pattern) {
+		return match(WordPattern.compile(pattern));
+	}
+	
+	/**
+	 * Returns a lazy stream of the words matching a compiled pattern, in 
+	 * alphabetic order. See match(String).
+	 * @param pattern A compiled pattern
+	 * @return The stream of words matching the pattern
+	 */
+	public Stream<String> match(WordPattern pattern) {
+		return StreamSupport.stream(new SpliterateurMotif(this.arbre, pattern), false);
+	}
+	
+	/**
+	 * Returns an alphabetic list of the words within a Levenshtein distance 
+	 * of the supplied word, that is the words reachable with at most 
+	 * 'maxEdits' single-letter insertions, deletions or substitutions.
+	 * A subtree is skipped as soon as no word under it can be close enough.
+	 * @param word A word, folded like the dictionary words
+	 * @param maxEdits Maximum number of edits
+	 * @return The list of words within maxEdits edits of the word
+	 * @throws IllegalArgumentException If maxEdits is negative
+	 */
+	public List<String> fuzzyMatch(String word, int maxEdits) {
+		if(maxEdits < 0)
+			throw new IllegalArgumentException();
+		List<String> wordSave = new ArrayList<>();
+		if(word == null) {
+			return wordSave;
+		}
+		String cible = normaliserWord(word);
+		int n = cible.length();
+		int k = Math.min(maxEdits, Integer.MAX_VALUE - 1);
+		int[][] lignes = new int[n + Math.min(k, 32) + 2][];
+		lignes[0] = new int[n + 1];
+		for(int j = 0; j <= n; j++) {
+			lignes[0][j] = Math.min(j, k + 1);
+		}
+		getFuzzy(wordSave, cible, k, lignes, new char[lignes.length], 0, this.arbre);
+		return wordSave;
+	}
+	
+	/**
+	 * Returns a new cursor positioned on the empty prefix.
+	 * The cursor sees later insertions but must not be used concurrently with them.
+	 * @return A cursor over the tree
+	 */
+	public TrieCursor cursor() {
+		return new CurseurArbre(this.arbre);
+	}
+	
+	/**
+	 * Returns a read-only copy of the tree where equivalent suffix subtrees 
+	 * are merged into a minimal directed acyclic word graph.
+	 * Later insertions in this tree are not visible in the returned lexicon.
+	 * @return The frozen lexicon
+	 */
+	public FrozenLexicon freeze() {
+		return new FrozenLexicon(this.arbre, this.numberWord);
+	}
+	
+	/**
+	 * Returns a succinct read-only copy of the tree, encoded with LOUDS in 
+	 * a few bits per node. Later insertions in this tree are not visible in 
+	 * the returned lexicon.
+	 * @return The succinct lexicon
+	 */
+	public LoudsLexicon toLouds() {
+		return new LoudsLexicon(this.arbre, this.numberWord);
+	}
 
 	/*
 	 * PRIVATE METHODS
 	 */
 	
 	/**
-     * méthode récursive qui cherche les modes dans l'arbre
+     * réduit les tableaux d'enfants du sous-arbre
+     * @param actuel
+     * 		racine du sous-arbre
+     */
+    private static void compacter(Noeud actuel) {
+    	actuel.compacter();
+    	for(int i = 0; i < actuel.getNombreSuivant(); i++) {
+    		compacter(actuel.getNoeudSuivant()[i]);
+    	}
+    }
+    
+    /**
+     * parcours en profondeur qui passe les préfix et les mots au visiteur
+     * @param visitor
+     * 		visiteur des mots
+     * @param tampon
+     * 		tampon[0] mot en construction, remplacé par un tableau plus 
+     * 		grand quand il est plein
+     * @param length
+     * 		longueur du préfix du noeud
+     * @param actuel
+     * 		noeud courant
+     * @return TERMINATE si le parcours doit s'arrêter, CONTINUE sinon
+     */
+    private static WordVisitor.Result visiter(WordVisitor visitor, char[][] tampon, int length, Noeud actuel) {
+    	if(length > 0) {
+    		WordVisitor.Result result = visitor.preVisitPrefix(tampon[0], length);
+    		if(result == WordVisitor.Result.CONTINUE && actuel.isEndWord()) {
+    			result = visitor.visitWord(tampon[0], length);
+    		}
+    		if(result == WordVisitor.Result.TERMINATE) {
+    			return result;
+    		}
+    		if(result == WordVisitor.Result.SKIP_SUBTREE) {
+    			return WordVisitor.Result.CONTINUE;
+    		}
+    	}
+    	if(length == tampon[0].length) {
+    		tampon[0] = Arrays.copyOf(tampon[0], length * 2);
+    	}
+    	Noeud[] suivants = actuel.getNoeudSuivant();
+    	for(int i = 0; i < actuel.getNombreSuivant(); i++) {
+    		tampon[0][length] = suivants[i].getLetter();
+    		if(visiter(visitor, tampon, length + 1, suivants[i]) == WordVisitor.Result.TERMINATE) {
+    			return WordVisitor.Result.TERMINATE;
+    		}
+    	}
+    	return WordVisitor.Result.CONTINUE;
+    }
+    
+    /**
+     * ajoute les mots du sous-arbre en sautant les premiers mots
      * @param listWords
-     * 		liste des mots trouvé
-     * @param prefix
-     * 		prefix des mots qu'on cherche
+     * 		page des mots trouvés
      * @param wordBuild
-     * 		mot en construction des noeuds
+     * 		mot en construction
      * @param actuel
-     * 		dernier noeud atteint 
+     * 		noeud courant, déjà compté
+     * @param skip
+     * 		nombre de mots à sauter
+     * @param limit
+     * 		taille de la page
+     * @return nombre de mots qu'il reste à sauter
      */
-    private void getWord(List<String> listWords, String prefix, String wordBuild, Noeud actuel){
-    	if(actuel.getNoeudSuivant() == null) {
-    		return;
+    private int getPage(List<String> listWords, StringBuilder wordBuild, Noeud actuel, int skip, int limit) {
+    	Noeud[] suivants = actuel.getNoeudSuivant();
+    	for(int i = 0; i < actuel.getNombreSuivant() && listWords.size() < limit; i++) {
+    		Noeud suivant = suivants[i];
+    		if(skip >= suivant.getNombreMots()) {
+    			skip -= suivant.getNombreMots();
+    			continue;
+    		}
+    		wordBuild.append(suivant.getLetter());
+    		if(suivant.isEndWord()) {
+    			if(skip == 0) {
+    				listWords.add(wordBuild.toString());
+    			}else {
+    				skip--;
+    			}
+    		}
+    		skip = getPage(listWords, wordBuild, suivant, skip, limit);
+    		wordBuild.setLength(wordBuild.length() - 1);
     	}
-    	for(Noeud suivant : actuel.getNoeudSuivant()) {
-    		if(prefix.length() <= wordBuild.length() || suivant.getLetter() == prefix.charAt(wordBuild.length())) {
-    			wordBuild += suivant.getLetter();
-        		if(suivant.isEndWord()) {
-        			listWords.add(wordBuild);
-        		}
-        		getWord(listWords, prefix, wordBuild, suivant);
-        		wordBuild = wordBuild.substring(0, wordBuild.length() - 1);
+    	return skip;
+    }
+    
+    /**
+     * cherche un groupe de clés qui ont toutes le préfix du noeud. Les clés 
+     * sont triées en même temps qu'on descend dans l'arbre (tri rapide à 
+     * trois branches sur la lettre à la profondeur courante) : chaque 
+     * préfix commun n'est parcouru qu'une fois, et un groupe dont la lettre 
+     * n'existe pas sous le noeud est écarté sans être trié.
+     * @param found
+     * 		bits des clés présentes
+     * @param cles
+     * 		mots normalisés
+     * @param ordre
+     * 		indices des clés, le groupe est ordre[debut, fin)
+     * @param debut
+     * 		début du groupe
+     * @param fin
+     * 		fin du groupe
+     * @param depth
+     * 		longueur du préfix commun au groupe
+     * @param actuel
+     * 		noeud du préfix commun
+     */
+    private static void containsAll(BitSet found, char[][] cles, int[] ordre, int debut, int fin, int depth, Noeud actuel) {
+    	while(fin - debut > 0) {
+    		int pivot = lettre(cles[ordre[debut + (fin - debut) / 2]], depth);
+    		// ordre[debut, inf) < pivot, [inf, sup) == pivot, [sup, fin) > pivot
+    		int inf = debut;
+    		int sup = fin;
+    		int i = debut;
+    		while(i < sup) {
+    			int letter = lettre(cles[ordre[i]], depth);
+    			if(letter < pivot) {
+    				echanger(ordre, inf++, i++);
+    			}else if(letter > pivot) {
+    				echanger(ordre, i, --sup);
+    			}else {
+    				i++;
+    			}
+    		}
+    		if(pivot < 0) {
+    			if(actuel.isEndWord()) {
+    				for(int j = inf; j < sup; j++) {
+    					found.set(ordre[j]);
+    				}
+    			}
+    		}else {
+    			Noeud suivant = actuel.getNoeudCourant((char) pivot);
+    			if(suivant != null) {
+    				containsAll(found, cles, ordre, inf, sup, depth + 1, suivant);
+    			}
     		}
+    		containsAll(found, cles, ordre, debut, inf, depth, actuel);
+    		debut = sup;
     	}
     }
     
     /**
-     * récupere les mots en fonction dans la longueur donnée
+     * retourne la lettre de la clé à une position
+     * @param cle
+     * 		lettres du mot normalisé
+     * @param position
+     * 		position de la lettre
+     * @return la lettre, -1 après la fin de la clé
+     */
+    private static int lettre(char[] cle, int position) {
+    	return position < cle.length ? cle[position] : -1;
+    }
+    
+    /**
+     * échange deux cases d'un tableau
+     * @param tab
+     * 		tableau
+     * @param i
+     * 		première case
+     * @param j
+     * 		deuxième case
+     */
+    private static void echanger(int[] tab, int i, int j) {
+    	int save = tab[i];
+    	tab[i] = tab[j];
+    	tab[j] = save;
+    }
+    
+    /**
+     * parcours en profondeur qui calcule, pour chaque préfix, la ligne de 
+     * la distance de Levenshtein entre le préfix et les débuts du mot 
+     * cherché. Seules les cases à moins de k de la diagonale sont calculées, 
+     * les autres valent au moins k + 1.
      * @param listWords
-     * 		liste des mots trouvé
-     * @param length
-     * 		longueur des mots que l'on souhaite
+     * 		liste des mots trouvés
+     * @param cible
+     * 		mot cherché, normalisé
+     * @param k
+     * 		nombre maximal de modifications
+     * @param lignes
+     * 		lignes[d] distance entre le préfix de longueur d et chaque début 
+     * 		du mot cherché, bornée à k + 1
      * @param wordBuild
      * 		mot en construction
+     * @param depth
+     * 		longueur du préfix courant
      * @param actuel
+     * 		noeud courant
      */
-    private void getWordLength(List<String> listWords, int length, String wordBuild, Noeud actuel){
-    	if(actuel.getNoeudSuivant() == null) {
-    		return;
+    private void getFuzzy(List<String> listWords, String cible, int k, int[][] lignes, char[] wordBuild, int depth, Noeud actuel) {
+    	int n = cible.length();
+    	int infini = k + 1;
+    	int d = depth + 1;
+    	if(d == lignes.length) {
+    		lignes = Arrays.copyOf(lignes, d * 2);
+    		wordBuild = Arrays.copyOf(wordBuild, d * 2);
     	}
-    	for(Noeud suivant : actuel.getNoeudSuivant()) {
-    		wordBuild += suivant.getLetter();
-		    if(suivant.isEndWord() && wordBuild.length() == length) 
-		    	listWords.add(wordBuild);
-		        	
-		    if(wordBuild.length() < length) 
-		       	getWordLength(listWords, length, wordBuild, suivant);
-		        	
-		    wordBuild = wordBuild.substring(0, wordBuild.length() - 1);
+    	if(lignes[d] == null) {
+    		lignes[d] = new int[n + 1];
+    	}
+    	int[] precedente = lignes[depth];
+    	int[] ligne = lignes[d];
+    	int bas = Math.max(1, d - k);
+    	int haut = k >= n - d ? n : d + k;
+    	Noeud[] suivants = actuel.getNoeudSuivant();
+    	for(int i = 0; i < actuel.getNombreSuivant(); i++) {
+    		Noeud suivant = suivants[i];
+    		char letter = suivant.getLetter();
+    		ligne[0] = Math.min(d, infini);
+    		if(bas > 1) {
+    			ligne[bas - 1] = infini;
+    		}
+    		int minimum = ligne[0];
+    		for(int j = bas; j <= haut; j++) {
+    			int distance = precedente[j - 1] + (cible.charAt(j - 1) == letter ? 0 : 1);
+    			distance = Math.min(distance, precedente[j] + 1);
+    			distance = Math.min(distance, ligne[j - 1] + 1);
+    			ligne[j] = Math.min(distance, infini);
+    			minimum = Math.min(minimum, ligne[j]);
+    		}
+    		if(haut < n) {
+    			ligne[haut + 1] = infini;
+    		}
+    		if(minimum > k) {
+    			continue;
+    		}
+    		wordBuild[depth] = letter;
+    		if(suivant.isEndWord() && haut == n && ligne[n] <= k) {
+    			listWords.add(new String(wordBuild, 0, d));
+    		}
+    		if(suivant.getNombreSuivant() > 0) {
+    			getFuzzy(listWords, cible, k, lignes, wordBuild, d, suivant);
+    		}
     	}
     }
-	
+    
     /**
      * vérifie si le préfix existe dans l'arbre
      * @param prefix
@@ -230,66 +751,171 @@ public class LexicographicTree {
     	return courant;
 	}
 	
+	/**
+	 * cherche le noeud d'une clé, en partant de la table de saut quand elle 
+	 * couvre les premières lettres de la clé
+	 * @param cle
+	 * 			lettres normalisées
+	 * @return noeud de la clé, null si elle n'est pas un préfix de l'arbre
+	 */
+	private Noeud descendre(char[] cle) {
+		Noeud courant = this.arbre;
+		int debut = 0;
+		TableSaut table = this.saut;
+		if(table != null && cle.length >= table.profondeur()) {
+			int index = table.index(cle);
+			if(index >= 0) {
+				courant = table.get(index);
+				debut = table.profondeur();
+			}
+		}
+		for(int i = debut; i < cle.length && courant != null; i++) {
+			courant = courant.getNoeudCourant(cle[i]);
+		}
+		return courant;
+	}
+	
 	/**
 	 * retire tous les caractères spécial du mot fournit
 	 * @param word
 	 * 			mot fournit
 	 * @return mot sans caractère spécial
 	 */
-	private String normaliserWord(String word) {
-		String normaliseWord = "";
+	static String normaliserWord(String word) {
+		StringBuilder normaliseWord = new StringBuilder(word.length());
 		for(int i = 0; i < word.length(); i++) {
-			normaliseWord += remplaceDiacritque(word.charAt(i));
+			normaliseWord.append(remplaceDiacritque(word.charAt(i)));
 		}
-		return normaliseWord.toUpperCase();
+		return normaliseWord.toString().toUpperCase();
 	}
 	
 	/**
-	 * remplacer le caractère spécial par sa lettre normal
-	 * @param letter
-	 * 			lettre à vérifier
-	 * @return lettre sans caractère spécial
+	 * normalise un mot comme normaliserWord, sans passer par des chaînes 
+	 * intermédiaires quand le mot ne contient que des caractères ASCII 
+	 * une fois les accents retirés
+	 * @param word
+	 * 			mot fournit
+	 * @return lettres du mot normalisé
 	 */
-	private char remplaceDiacritque(char letter) {
-		if(letter == 'à' || letter == 'â' || letter == 'ä') {
-			return 'a';
-		}
-		if(letter == 'ç') {
-			return 'c';
-		}
-		if(letter == 'é' || letter == 'è' || letter == 'ê' || letter == 'ë') {
-			return 'e';
+	static char[] normaliserCle(String word) {
+		char[] cle = new char[word.length()];
+		for(int i = 0; i < cle.length; i++) {
+			char letter = plierLettre(word.charAt(i));
+			if(letter >= 0x80) {
+				return normaliserWord(word).toCharArray();
+			}
+			cle[i] = letter;
 		}
-		if(letter == 'î' || letter == 'ï') {
-			return 'i';
+		return cle;
+	}
+	
+	/**
+	 * plie une lettre d'une clé comme normaliserCle, ce qui permet de 
+	 * chercher un mot lettre par lettre sans créer de tableau
+	 * @param letter
+	 * 			lettre fournie
+	 * @return lettre pliée, ou un caractère >= 0x80 quand le mot entier 
+	 * 			doit passer par normaliserCle
+	 */
+	static char plierLettre(char letter) {
+		letter = remplaceDiacritque(letter);
+		return letter >= 'a' && letter <= 'z' ? (char) (letter - 'a' + 'A') : letter;
+	}
+	
+	/**
+	 * insère un mot déjà normalisé sous le noeud de départ et met à jour 
+	 * le nombre de mots des noeuds du chemin
+	 * @param depart
+	 * 			noeud sous lequel le mot est inséré
+	 * @param symboles
+	 * 			lettres normalisées du mot
+	 * @param debut
+	 * 			position de la première lettre à insérer sous le départ
+	 * @return true si le mot n'était pas déjà présent
+	 */
+	static boolean inserer(Noeud depart, String symboles, int debut) {
+		return inserer(depart, symboles.toCharArray(), debut, symboles.length());
+	}
+	
+	/**
+	 * insère un mot déjà normalisé sous le noeud de départ, voir 
+	 * inserer(Noeud, String, int)
+	 * @param depart
+	 * 			noeud sous lequel le mot est inséré
+	 * @param symboles
+	 * 			tableau contenant les lettres normalisées du mot
+	 * @param debut
+	 * 			position de la première lettre à insérer sous le départ
+	 * @param fin
+	 * 			fin des lettres du mot dans le tableau
+	 * @return true si le mot n'était pas déjà présent
+	 */
+	static boolean inserer(Noeud depart, char[] symboles, int debut, int fin) {
+		Noeud noeudActuel = depart;
+		for(int i = debut; i < fin; i++) {
+			char letter = symboles[i];
+			Noeud next = noeudActuel.getNoeudCourant(letter);
+			if(next == null) {
+				next = new Noeud(letter);
+				noeudActuel.addNoeudSuivant(next);
+			}
+			noeudActuel = next;
 		}
-		if(letter == 'ö' || letter == 'ô') {
-			return 'o';
+		if(noeudActuel.isEndWord()) {
+			return false;
 		}
-		if(letter == 'ù' || letter == 'û' || letter == 'ü') {
-			return 'u';
+		noeudActuel.setEndWord();
+		
+		noeudActuel = depart;
+		noeudActuel.ajouterMots(1);
+		for(int i = debut; i < fin; i++) {
+			noeudActuel = noeudActuel.getNoeudCourant(symboles[i]);
+			noeudActuel.ajouterMots(1);
 		}
-		if(letter == 'ÿ') {
-			return 'y';
+		return true;
+	}
+	
+	/**
+	 * retourne les lettres qu'insertWord garderait du mot fournit
+	 * @param word
+	 * 			mot fournit, déjà en minuscule et sans espace autour
+	 * @return lettres du mot en majuscule, sans caractère spécial
+	 */
+	static String symboles(String word) {
+		StringBuilder symboles = new StringBuilder(word.length());
+		for(int i = 0; i < word.length(); i++) {
+			char letter = Character.toUpperCase(remplaceDiacritque(word.charAt(i)));
+			if(letter == '\'' || letter == '-' || Character.isLetter(letter)) {
+				symboles.append(letter);
+			}
 		}
-		return letter;
-		
+		return symboles.toString();
+	}
+	
+	/**
+	 * normalise une lettre comme normaliserWord
+	 * @param letter
+	 * 			lettre à normaliser
+	 * @return lettre en majuscule sans caractère spécial
+	 */
+	static char normaliserLettre(char letter) {
+		return Alphabet.FRENCH.fold(letter);
+	}
+	
+	/**
+	 * remplacer le caractère spécial par sa lettre normal
+	 * @param letter
+	 * 			lettre à vérifier
+	 * @return lettre sans caractère spécial
+	 */
+	static char remplaceDiacritque(char letter) {
+		return Alphabet.FRENCH.base(letter);
 	}
 	
 	/*
 	 * TEST FUNCTIONS
 	 */
 		
-	private static String numberToWord(long number) {
-		String word = "";
-		int radix = 2;
-		do {
-			word = (((int)(number % radix) == 0) ? "a" : "m") + word;
-			number = number / radix;
-		} while(number != 0);
-		return word;
-	}
-	
 	private static void testDictionaryPerformance(String filename) {
 		long startTime;
 		int repeatCount = 20;
@@ -305,6 +931,16 @@ public class LexicographicTree {
 		System.out.println("Number of words : " + dico.size());
 		System.out.println();
 		
+		// Create tree from list of words on all cores
+		startTime = System.currentTimeMillis();
+		System.out.println("Loading dictionary in parallel...");
+		for (int i = 0; i < repeatCount; i++) {
+			dico = new LexicographicTree(filename, true);
+		}
+		System.out.println("Load time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+		System.out.println("Number of words : " + dico.size());
+		System.out.println();
+		
 		// Search existing words in dictionary
 		startTime = System.currentTimeMillis();
 		System.out.println("Searching existing words in dictionary...");
@@ -350,6 +986,25 @@ public class LexicographicTree {
 		System.out.println("Search time : " + (System.currentTimeMillis() - startTime) / 1000.0);
 		System.out.println();
 
+		// Search existing and non-existing words with each prefix jump table
+		System.out.println("Searching words with a prefix jump table...");
+		List<String> words = dico.getWords("");
+		for (int depth : new int[] {0, 2, 3, 0, 2, 3}) {
+			dico.setJumpTableDepth(depth);
+			startTime = System.currentTimeMillis();
+			for (int i = 0; i < repeatCount; i++) {
+				for (String word : words) {
+					if (!dico.containsWord(word) || dico.containsPrefix(word + "xx")) {
+						System.out.println(word + " -> lookup mismatch");
+					}
+				}
+			}
+			System.out.println("Depth " + depth + " : table " + dico.jumpTableBytes() / 1024.0 + " KB, search time " 
+					+ (System.currentTimeMillis() - startTime) / 1000.0);
+		}
+		dico.setJumpTableDepth(0);
+		System.out.println();
+
 		// Retrieve all words in dictionary
 		startTime = System.currentTimeMillis();
 		System.out.println("Retrieving all words in dictionary...");
@@ -377,24 +1032,28 @@ public class LexicographicTree {
 		}
 		System.out.println("Search time : " + (System.currentTimeMillis() - startTime) / 1000.0);
 		System.out.println();
-	}
-
-	private static void testDictionarySize() {
-		final int MB = 1024 * 1024;
-		System.out.print(Runtime.getRuntime().totalMemory()/MB + " / ");
-		System.out.println(Runtime.getRuntime().maxMemory()/MB);
-
-		LexicographicTree dico = new LexicographicTree();
-		long count = 0;
-		while (true) {
-			dico.insertWord(numberToWord(count));
-			count++;
-			if (count % MB == 0) {
-				System.out.println(count / MB + "M -> " + Runtime.getRuntime().freeMemory()/MB);
-			}
+		
+		// Freeze dictionary into a minimal word graph
+		startTime = System.currentTimeMillis();
+		System.out.println("Freezing dictionary...");
+		FrozenLexicon frozen = dico.freeze();
+		System.out.println("Freeze time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+		System.out.println("Nodes : " + frozen.sourceNodeCount() + " -> " + frozen.nodeCount() + " (" + frozen.edgeCount() + " edges)");
+		System.out.println();
+		
+		// Open the binary image of the dictionary
+		MappedLexicon.load(filename);
+		startTime = System.currentTimeMillis();
+		System.out.println("Opening dictionary image...");
+		Lexicon image = null;
+		for (int i = 0; i < repeatCount; i++) {
+			image = MappedLexicon.load(filename);
 		}
+		System.out.println("Load time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+		System.out.println("Number of words : " + image.size());
+		System.out.println();
 	}
-	
+
 	/*
 	 * MAIN PROGRAM
 	 */
@@ -403,7 +1062,7 @@ public class LexicographicTree {
 		// CTT : test de performance insertion/recherche
 		testDictionaryPerformance("mots/dictionnaire_FR_avec_accents.txt");
 		
-		// CST : test de taille maximale si VM -Xms2048m -Xmx2048m
-		testDictionarySize();
+		// CST : mots par Mo jusqu'à un budget de tas, à lancer avec -Xmx2048m
+		CapacityHarness.main(new String[] {"--stream=counter", "--alphabet=AM", "--budget-mb=1024"});
 	}
 }
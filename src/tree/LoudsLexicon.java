@@ -0,0 +1,364 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Succinct read-only dictionary obtained from a LexicographicTree. The
+ * shape of the tree is encoded with LOUDS (level-order unary degree
+ * sequence): the nodes are numbered in breadth-first order and each one
+ * writes a 1 per child followed by a 0, which takes about 2 bits per node.
+ * The labels of the nodes are packed on as few bits as the number of
+ * distinct letters requires, usually 5, and one more bit per node marks
+ * the ends of words. The children of a node are found with a select on
+ * the zeros of the sequence, so lookups are slower than in the tree but
+ * the whole dictionary fits in a few bits per node.
+ */
+public final class LoudsLexicon implements Lexicon {
+
+	private static final int RACINE = 0;
+
+	/*
+	 * "10" pour une super-racine puis, pour chaque noeud dans l'ordre du
+	 * parcours en largeur, un 1 par enfant et un 0. Le noeud n est décrit
+	 * entre le n-ième et le (n+1)-ième zéro, et ses enfants sont les noeuds
+	 * consécutifs à partir de selection0(n) - n
+	 */
+	private final VecteurBits forme;
+	/*
+	 * code de la lettre de chaque noeud sur largeur bits, indice dans
+	 * symboles ; les symboles étant triés, les codes des enfants d'un
+	 * noeud sont croissants comme leurs lettres
+	 */
+	private final long[] etiquettes;
+	private final int largeur;
+	private final char[] symboles;
+	private final BitSet finMot;
+	private final int nombreNoeuds;
+	private final int numberWord;
+	private final int hauteur;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * encode l'arbre fourni
+	 * @param arbre
+	 * 		racine de l'arbre à encoder
+	 * @param numberWord
+	 * 		nombre de mots de l'arbre
+	 */
+	LoudsLexicon(Noeud arbre, int numberWord) {
+		// noeuds dans l'ordre du parcours en largeur, et lettres rencontrées
+		Noeud[] noeuds = new Noeud[1024];
+		noeuds[0] = arbre;
+		int nombre = 1;
+		BitSet lettres = new BitSet();
+		// fin du niveau en cours : quand on l'atteint, le niveau suivant est complet
+		int finNiveau = 1;
+		int hauteur = 0;
+		for(int n = 0; n < nombre; n++) {
+			if(n == finNiveau) {
+				finNiveau = nombre;
+				hauteur++;
+			}
+			Noeud[] enfants = noeuds[n].getNoeudSuivant();
+			int nombreEnfants = noeuds[n].getNombreSuivant();
+			if(nombre + nombreEnfants > noeuds.length) {
+				noeuds = Arrays.copyOf(noeuds, Math.max(noeuds.length * 2, nombre + nombreEnfants));
+			}
+			for(int i = 0; i < nombreEnfants; i++) {
+				noeuds[nombre++] = enfants[i];
+				lettres.set(enfants[i].getLetter());
+			}
+		}
+		this.nombreNoeuds = nombre;
+		this.hauteur = hauteur;
+		this.numberWord = numberWord;
+
+		this.symboles = new char[lettres.cardinality()];
+		int[] codes = new int[lettres.length()];
+		for(int c = lettres.nextSetBit(0), i = 0; c >= 0; c = lettres.nextSetBit(c + 1), i++) {
+			symboles[i] = (char) c;
+			codes[c] = i;
+		}
+		this.largeur = 32 - Integer.numberOfLeadingZeros(Math.max(1, symboles.length - 1));
+
+		int longueur = 2 * nombre + 1;
+		long[] bits = new long[(longueur + 63) >>> 6];
+		bits[0] = 1L;
+		int position = 2;
+		this.etiquettes = new long[(int) (((long) nombre * largeur + 63) >>> 6)];
+		this.finMot = new BitSet(nombre);
+		for(int n = 0; n < nombre; n++) {
+			Noeud noeud = noeuds[n];
+			noeuds[n] = null;
+			if(noeud.isEndWord()) {
+				finMot.set(n);
+			}
+			if(n > RACINE) {
+				ecrireEtiquette(n, codes[noeud.getLetter()]);
+			}
+			for(int i = 0; i < noeud.getNombreSuivant(); i++, position++) {
+				bits[position >>> 6] |= 1L << position;
+			}
+			position++;
+		}
+		this.forme = new VecteurBits(bits, longueur);
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	@Override
+	public int size() {
+		return numberWord;
+	}
+
+	@Override
+	public boolean containsWord(String word) {
+		if(word == null)
+			return false;
+		int noeud = checkPrefix(word);
+		return noeud >= 0 && finMot.get(noeud);
+	}
+
+	@Override
+	public boolean containsPrefix(String prefix) {
+		if(prefix == null)
+			return false;
+		return checkPrefix(prefix) >= 0;
+	}
+
+	@Override
+	public List<String> getWords(String prefix) {
+		List<String> wordSave = new ArrayList<>();
+		prefix = prefix == null ? "" : LexicographicTree.normaliserWord(prefix);
+		int noeud = checkPrefix(prefix);
+		if(noeud < 0) {
+			return wordSave;
+		}
+		if(prefix.length() > 0 && finMot.get(noeud)) {
+			wordSave.add(prefix);
+		}
+		char[] wordBuild = Arrays.copyOf(prefix.toCharArray(), prefix.length() + hauteur);
+		getWord(wordSave, wordBuild, prefix.length(), noeud, Integer.MAX_VALUE);
+		return wordSave;
+	}
+
+	@Override
+	public List<String> getWordsOfLength(int length) {
+		List<String> wordSave = new ArrayList<>();
+		if(length > 0 && length <= hauteur) {
+			getWord(wordSave, new char[length], 0, RACINE, length);
+		}
+		return wordSave;
+	}
+
+	@Override
+	public TrieCursor cursor() {
+		return new CurseurGraphe() {
+			@Override
+			int enfant(int noeud, char letter) {
+				return getNoeudCourant(noeud, letter);
+			}
+
+			@Override
+			boolean isEndWord(int noeud) {
+				return finMot.get(noeud);
+			}
+
+			@Override
+			boolean hasChildren(int noeud) {
+				return forme.get(forme.selection0(noeud) + 1);
+			}
+		};
+	}
+
+	/**
+	 * Returns the number of nodes, the root included. It is the number of
+	 * nodes of the tree this lexicon was built from.
+	 * @return The number of nodes
+	 */
+	public int nodeCount() {
+		return nombreNoeuds;
+	}
+
+	/**
+	 * Returns the estimated heap retained by this lexicon, with the same
+	 * layout assumptions as TreeStats.estimatedHeapBytes.
+	 * @return The estimated retained heap in bytes
+	 */
+	public long estimatedHeapBytes() {
+		return 48 + forme.tailleOctets() + VecteurBits.tailleTableau(8L * etiquettes.length)
+				+ VecteurBits.tailleTableau(2L * symboles.length)
+				+ 24 + VecteurBits.tailleTableau(8L * ((finMot.length() + 63) >>> 6));
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * écrit le code de la lettre d'un noeud
+	 * @param noeud
+	 * 		numéro du noeud
+	 * @param code
+	 * 		code de sa lettre
+	 */
+	private void ecrireEtiquette(int noeud, int code) {
+		long bit = (long) noeud * largeur;
+		int w = (int) (bit >>> 6);
+		etiquettes[w] |= (long) code << bit;
+		int dans = (int) (bit & 63);
+		if(dans + largeur > 64) {
+			etiquettes[w + 1] |= (long) code >>> (64 - dans);
+		}
+	}
+
+	/**
+	 * lit le code de la lettre d'un noeud
+	 * @param noeud
+	 * 		numéro du noeud
+	 * @return code de sa lettre
+	 */
+	private int etiquette(int noeud) {
+		long bit = (long) noeud * largeur;
+		int w = (int) (bit >>> 6);
+		int dans = (int) (bit & 63);
+		long code = etiquettes[w] >>> dans;
+		if(dans + largeur > 64) {
+			code |= etiquettes[w + 1] << (64 - dans);
+		}
+		return (int) (code & ((1L << largeur) - 1));
+	}
+
+	/**
+	 * cherche l'enfant portant la lettre
+	 * @param noeud
+	 * 		noeud courant
+	 * @param letter
+	 * 		lettre cherchée
+	 * @return l'enfant, -1 s'il n'existe pas
+	 */
+	private int getNoeudCourant(int noeud, char letter) {
+		int code = Arrays.binarySearch(symboles, letter);
+		if(code < 0) {
+			return -1;
+		}
+		int debut = forme.selection0(noeud) + 1;
+		int premier = debut - noeud - 1;
+		int fin = premier + forme.suiteUns(debut);
+		for(int enfant = premier; enfant < fin; enfant++) {
+			int etiquette = etiquette(enfant);
+			if(etiquette >= code) {
+				return etiquette == code ? enfant : -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * vérifie si le préfix existe dans le lexique
+	 * @param prefix
+	 * 		préfix qu'on cherche
+	 * @return noeud atteint, -1 si le préfix n'existe pas
+	 */
+	private int checkPrefix(String prefix) {
+		prefix = LexicographicTree.normaliserWord(prefix);
+		int courant = RACINE;
+		for(int i = 0; i < prefix.length() && courant >= 0; i++) {
+			courant = getNoeudCourant(courant, prefix.charAt(i));
+		}
+		return courant;
+	}
+
+	/**
+	 * parcours en profondeur qui ajoute les mots dans l'ordre alphabétique
+	 * @param listWords
+	 * 		liste des mots trouvés
+	 * @param wordBuild
+	 * 		mot en construction
+	 * @param length
+	 * 		longueur du mot en construction
+	 * @param noeud
+	 * 		noeud courant
+	 * @param longueurVoulue
+	 * 		longueur exacte des mots voulus, Integer.MAX_VALUE pour tous
+	 */
+	private void getWord(List<String> listWords, char[] wordBuild, int length, int noeud, int longueurVoulue) {
+		int debut = forme.selection0(noeud) + 1;
+		int premier = debut - noeud - 1;
+		int fin = premier + forme.suiteUns(debut);
+		for(int suivant = premier; suivant < fin; suivant++) {
+			wordBuild[length] = symboles[etiquette(suivant)];
+			if(finMot.get(suivant) && (longueurVoulue == Integer.MAX_VALUE || length + 1 == longueurVoulue)) {
+				listWords.add(new String(wordBuild, 0, length + 1));
+			}
+			if(length + 1 < longueurVoulue) {
+				getWord(listWords, wordBuild, length + 1, suivant, longueurVoulue);
+			}
+		}
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	/**
+	 * compare la taille et le temps de recherche de l'arbre et de son encodage
+	 * @param lexicon
+	 * 		dictionnaire à mesurer
+	 * @param words
+	 * 		mots cherchés
+	 * @param repeatCount
+	 * 		nombre de passes sur les mots
+	 * @return temps moyen d'une recherche en nanosecondes
+	 */
+	private static double tempsRecherche(Lexicon lexicon, List<String> words, int repeatCount) {
+		long startTime = System.nanoTime();
+		for(int i = 0; i < repeatCount; i++) {
+			for(String word : words) {
+				lexicon.containsWord(word);
+			}
+		}
+		long duree = System.nanoTime() - startTime;
+		return (double) duree / ((long) repeatCount * words.size());
+	}
+
+	public static void main(String[] args) {
+		String filename = args.length > 0 ? args[0] : "mots/dictionnaire_FR_avec_accents.txt";
+		LexicographicTree dict = new LexicographicTree(filename);
+		long startTime = System.nanoTime();
+		LoudsLexicon louds = dict.toLouds();
+		System.out.println("Encoding time : " + (System.nanoTime() - startTime) / 1e6 + " ms");
+
+		TreeStats stats = dict.stats();
+		System.out.println("Nodes : " + louds.nodeCount());
+		System.out.printf("Tree size : %d KB (%.1f bits per node)%n", stats.estimatedHeapBytes() / 1024,
+				8.0 * stats.estimatedHeapBytes() / stats.nodeCount());
+		System.out.printf("LOUDS size : %d KB (%.1f bits per node)%n", louds.estimatedHeapBytes() / 1024,
+				8.0 * louds.estimatedHeapBytes() / louds.nodeCount());
+
+		List<String> words = dict.getWords("");
+		Collections.shuffle(words, new Random(0));
+		List<String> absents = new ArrayList<>();
+		for(String word : words) {
+			absents.add(word + "xx");
+		}
+		for(int i = 0; i < 3; i++) {
+			tempsRecherche(dict, words, 1);
+			tempsRecherche(louds, words, 1);
+		}
+		System.out.printf("Tree containsWord : %.0f ns (hit) / %.0f ns (miss)%n",
+				tempsRecherche(dict, words, 5), tempsRecherche(dict, absents, 5));
+		System.out.printf("LOUDS containsWord : %.0f ns (hit) / %.0f ns (miss)%n",
+				tempsRecherche(louds, words, 5), tempsRecherche(louds, absents, 5));
+	}
+}
@@ -0,0 +1,433 @@
+package tree;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dictionnaire en lecture seule qui répond directement depuis une image
+ * binaire du graphe de mots projetée en mémoire. Aucun objet n'est créé par
+ * noeud : l'ouverture ne coûte que la projection du fichier, et les pages
+ * sont partagées par le cache du système entre toutes les JVM qui ouvrent
+ * la même image.
+ *
+ * Format de l'image (big-endian) :
+ * <pre>
+ * int  magie, version, nombre de mots, nombre de noeuds, nombre d'arcs, hauteur
+ * long taille et date de modification du fichier texte source, -1 si inconnus
+ * int  empreinte du jeu de caractères utilisé pour lire la source, 0
+ * int  premier arc de chaque noeud (noeuds + 1 cases), bit 31 = fin de mot
+ * int  noeud cible de chaque arc
+ * char lettre de chaque arc
+ * </pre>
+ */
+public final class MappedLexicon implements Lexicon {
+
+	/**
+	 * extension ajoutée au fichier texte pour nommer son image
+	 */
+	public static final String EXTENSION = ".dawg";
+
+	private static final int MAGIE = 0x44415747; // "DAWG"
+	private static final int VERSION = 2;
+	private static final int ENTETE = 8 * Integer.BYTES + 2 * Long.BYTES;
+	private static final int SOURCE = 6 * Integer.BYTES;
+	private static final long INCONNU = -1;
+	private static final int FIN_MOT = 0x80000000;
+	private static final int RACINE = 0;
+
+	private final ByteBuffer image;
+	private final int numberWord;
+	private final int nombreNoeuds;
+	private final int hauteur;
+	private final int debutCibles;
+	private final int debutLettres;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * construit le dictionnaire au-dessus d'une image déjà projetée
+	 * @param image
+	 * 		contenu de l'image
+	 * @throws IOException
+	 * 		si le contenu n'est pas une image de dictionnaire
+	 */
+	private MappedLexicon(ByteBuffer image) throws IOException {
+		if(image.capacity() < ENTETE || image.getInt(0) != MAGIE || image.getInt(4) != VERSION) {
+			throw new IOException("Not a dictionary image");
+		}
+		this.image = image;
+		this.numberWord = image.getInt(8);
+		this.nombreNoeuds = image.getInt(12);
+		int nombreArcs = image.getInt(16);
+		this.hauteur = image.getInt(20);
+		this.debutCibles = ENTETE + (nombreNoeuds + 1) * Integer.BYTES;
+		this.debutLettres = debutCibles + nombreArcs * Integer.BYTES;
+		if(image.capacity() != debutLettres + nombreArcs * Character.BYTES) {
+			throw new IOException("Truncated dictionary image");
+		}
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Opens a dictionary image written by compile().
+	 * @param image Path of the image file
+	 * @return The dictionary backed by the mapped file
+	 * @throws IOException If the file cannot be mapped or is not a dictionary image
+	 */
+	public static MappedLexicon open(Path image) throws IOException {
+		try(FileChannel channel = FileChannel.open(image, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new MappedLexicon(buffer);
+		}
+	}
+
+	/**
+	 * Writes the minimal word graph of a tree to a binary image file.
+	 * The file is written next to its final location then renamed, so
+	 * a process opening the image never sees it half written. The image
+	 * records no source, so load() never reuses it.
+	 * @param dict The dictionary to compile
+	 * @param image Path of the image file
+	 * @throws IOException If the file cannot be written
+	 */
+	public static void compile(LexicographicTree dict, Path image) throws IOException {
+		ecrire(dict, image, INCONNU, INCONNU);
+	}
+
+	/**
+	 * Writes the minimal word graph of a tree built from a text file to a
+	 * binary image file, recording the size and modification time of the
+	 * text file and the default charset. load() only reuses an image whose
+	 * recorded source still matches the text file.
+	 * @param dict The dictionary to compile, read from source
+	 * @param image Path of the image file
+	 * @param source The text file the dictionary was read from
+	 * @throws IOException If the text file does not exist or the image cannot be written
+	 */
+	public static void compile(LexicographicTree dict, Path image, Path source) throws IOException {
+		ecrire(dict, image, Files.size(source), Files.getLastModifiedTime(source).toMillis());
+	}
+
+	/**
+	 * Loads a dictionary from a text file, through its binary image.
+	 * The image (filename + EXTENSION) is compiled when it is missing or
+	 * was not built from the current text file, read with the current
+	 * default charset. If the text file does not exist, or if the image
+	 * cannot be written, the tree built from the text file is returned
+	 * instead and no image is kept.
+	 * @param filename A text file containing the words of the dictionary
+	 * @return The loaded dictionary
+	 */
+	public static Lexicon load(String filename) {
+		File texte = new File(filename);
+		File image = new File(filename + EXTENSION);
+		if(!texte.isFile()) {
+			return new LexicographicTree(filename);
+		}
+		// attributs relevés avant la lecture, pour ne pas dater l'image d'une source plus récente
+		long longueur = texte.length();
+		long date = texte.lastModified();
+		if(image.isFile()) {
+			try {
+				MappedLexicon mapped = open(image.toPath());
+				if(mapped.estConstruitDepuis(longueur, date)) {
+					return mapped;
+				}
+			} catch (IOException e) {
+				// image illisible : on la recompile
+			}
+		}
+		LexicographicTree dict = new LexicographicTree(filename);
+		if(dict.size() == 0 && longueur > 0) {
+			// lecture ratée ou fichier sans mot : rien à mettre en cache
+			return dict;
+		}
+		try {
+			ecrire(dict, image.toPath(), longueur, date);
+			return open(image.toPath());
+		} catch (IOException e) {
+			return dict;
+		}
+	}
+
+	@Override
+	public int size() {
+		return numberWord;
+	}
+
+	@Override
+	public boolean containsWord(String word) {
+		if(word == null)
+			return false;
+		int noeud = checkPrefix(word);
+		return noeud >= 0 && isEndWord(noeud);
+	}
+
+	@Override
+	public boolean containsPrefix(String prefix) {
+		if(prefix == null)
+			return false;
+		return checkPrefix(prefix) >= 0;
+	}
+
+	@Override
+	public List<String> getWords(String prefix) {
+		List<String> wordSave = new ArrayList<>();
+		prefix = prefix == null ? "" : LexicographicTree.normaliserWord(prefix);
+		int noeud = checkPrefix(prefix);
+		if(noeud < 0) {
+			return wordSave;
+		}
+		if(prefix.length() > 0 && isEndWord(noeud)) {
+			wordSave.add(prefix);
+		}
+		char[] wordBuild = Arrays.copyOf(prefix.toCharArray(), prefix.length() + hauteur);
+		getWord(wordSave, wordBuild, prefix.length(), noeud, Integer.MAX_VALUE);
+		return wordSave;
+	}
+
+	@Override
+	public List<String> getWordsOfLength(int length) {
+		List<String> wordSave = new ArrayList<>();
+		if(length > 0 && length <= hauteur) {
+			getWord(wordSave, new char[length], 0, RACINE, length);
+		}
+		return wordSave;
+	}
+
+	@Override
+	public TrieCursor cursor() {
+		return new CurseurGraphe() {
+			@Override
+			int enfant(int noeud, char letter) {
+				return getNoeudCourant(noeud, letter);
+			}
+
+			@Override
+			boolean isEndWord(int noeud) {
+				return MappedLexicon.this.isEndWord(noeud);
+			}
+
+			@Override
+			boolean hasChildren(int noeud) {
+				return premierArc(noeud + 1) > premierArc(noeud);
+			}
+		};
+	}
+
+	/**
+	 * Returns the number of nodes stored in the image.
+	 * @return The number of nodes
+	 */
+	public int nodeCount() {
+		return nombreNoeuds;
+	}
+
+	/*
+	 * PACKAGE METHODS
+	 */
+
+	/**
+	 * vérifie que l'image a été construite depuis un fichier texte donné,
+	 * lu avec le jeu de caractères par défaut actuel
+	 * @param longueur
+	 * 		taille du fichier texte
+	 * @param date
+	 * 		date de modification du fichier texte
+	 * @return true si la source enregistrée correspond
+	 */
+	boolean estConstruitDepuis(long longueur, long date) {
+		return longueur != INCONNU && image.getLong(SOURCE) == longueur && image.getLong(SOURCE + Long.BYTES) == date
+				&& image.getInt(SOURCE + 2 * Long.BYTES) == Charset.defaultCharset().name().hashCode();
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * écrit l'image du graphe de mots d'un arbre
+	 * @param dict
+	 * 		arbre à écrire
+	 * @param image
+	 * 		chemin de l'image
+	 * @param longueur
+	 * 		taille du fichier texte source, INCONNU sans source
+	 * @param date
+	 * 		date de modification du fichier texte source, INCONNU sans source
+	 * @throws IOException
+	 * 		si l'image ne peut pas être écrite ; aucun fichier temporaire ne reste alors
+	 */
+	private static void ecrire(LexicographicTree dict, Path image, long longueur, long date) throws IOException {
+		FrozenLexicon frozen = dict.freeze();
+		int nombreNoeuds = frozen.nodeCount();
+		int nombreArcs = frozen.edgeCount();
+		ByteBuffer buffer = ByteBuffer.allocate(ENTETE + (nombreNoeuds + 1) * Integer.BYTES
+				+ nombreArcs * (Integer.BYTES + Character.BYTES));
+		buffer.putInt(MAGIE).putInt(VERSION).putInt(frozen.size())
+			.putInt(nombreNoeuds).putInt(nombreArcs).putInt(frozen.hauteur())
+			.putLong(longueur).putLong(date).putInt(Charset.defaultCharset().name().hashCode()).putInt(0);
+		for(int n = 0; n <= nombreNoeuds; n++) {
+			int premier = frozen.premierArc(n);
+			buffer.putInt(n < nombreNoeuds && frozen.isEndWord(n) ? premier | FIN_MOT : premier);
+		}
+		for(int a = 0; a < nombreArcs; a++) {
+			buffer.putInt(frozen.cible(a));
+		}
+		for(int a = 0; a < nombreArcs; a++) {
+			buffer.putChar(frozen.lettre(a));
+		}
+		buffer.flip();
+
+		Path absolute = image.toAbsolutePath();
+		Path temporaire = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+		try {
+			try(FileChannel channel = FileChannel.open(temporaire, StandardOpenOption.WRITE)) {
+				while(buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			}
+			Files.move(temporaire, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temporaire);
+			throw e;
+		}
+	}
+
+	/**
+	 * retourne l'indice du premier arc du noeud
+	 * @param noeud
+	 * 		noeud dont on veut les arcs
+	 * @return indice du premier arc
+	 */
+	private int premierArc(int noeud) {
+		return image.getInt(ENTETE + noeud * Integer.BYTES) & ~FIN_MOT;
+	}
+
+	/**
+	 * retourne true si le noeud est la fin d'un mot
+	 * @param noeud
+	 * 		noeud à vérifier
+	 * @return true si le noeud est la fin d'un mot
+	 */
+	private boolean isEndWord(int noeud) {
+		return (image.getInt(ENTETE + noeud * Integer.BYTES) & FIN_MOT) != 0;
+	}
+
+	/**
+	 * retourne la lettre portée par l'arc
+	 * @param arc
+	 * 		indice de l'arc
+	 * @return lettre de l'arc
+	 */
+	private char lettre(int arc) {
+		return image.getChar(debutLettres + arc * Character.BYTES);
+	}
+
+	/**
+	 * retourne le noeud pointé par l'arc
+	 * @param arc
+	 * 		indice de l'arc
+	 * @return noeud cible de l'arc
+	 */
+	private int cible(int arc) {
+		return image.getInt(debutCibles + arc * Integer.BYTES);
+	}
+
+	/**
+	 * cherche l'arc portant la lettre parmi les arcs du noeud
+	 * @param noeud
+	 * 		noeud courant
+	 * @param letter
+	 * 		lettre cherchée
+	 * @return le noeud cible, -1 s'il n'existe pas
+	 */
+	private int getNoeudCourant(int noeud, char letter) {
+		int fin = premierArc(noeud + 1);
+		for(int a = premierArc(noeud); a < fin; a++) {
+			if(lettre(a) == letter) {
+				return cible(a);
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * vérifie si le préfix existe dans l'image
+	 * @param prefix
+	 * 		préfix qu'on cherche
+	 * @return noeud atteint, -1 si le préfix n'existe pas
+	 */
+	private int checkPrefix(String prefix) {
+		prefix = LexicographicTree.normaliserWord(prefix);
+		int courant = RACINE;
+		for(int i = 0; i < prefix.length() && courant >= 0; i++) {
+			courant = getNoeudCourant(courant, prefix.charAt(i));
+		}
+		return courant;
+	}
+
+	/**
+	 * parcours en profondeur qui ajoute les mots dans l'ordre alphabétique
+	 * @param listWords
+	 * 		liste des mots trouvés
+	 * @param wordBuild
+	 * 		mot en construction
+	 * @param length
+	 * 		longueur du mot en construction
+	 * @param noeud
+	 * 		noeud courant
+	 * @param longueurVoulue
+	 * 		longueur exacte des mots voulus, Integer.MAX_VALUE pour tous
+	 */
+	private void getWord(List<String> listWords, char[] wordBuild, int length, int noeud, int longueurVoulue) {
+		int fin = premierArc(noeud + 1);
+		for(int a = premierArc(noeud); a < fin; a++) {
+			int suivant = cible(a);
+			wordBuild[length] = lettre(a);
+			if(isEndWord(suivant) && (longueurVoulue == Integer.MAX_VALUE || length + 1 == longueurVoulue)) {
+				listWords.add(new String(wordBuild, 0, length + 1));
+			}
+			if(length + 1 < longueurVoulue) {
+				getWord(listWords, wordBuild, length + 1, suivant, longueurVoulue);
+			}
+		}
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	public static void main(String[] args) throws IOException {
+		String filename = args.length > 0 ? args[0] : "mots/dictionnaire_FR_avec_accents.txt";
+		Path image = Paths.get(filename + EXTENSION);
+
+		long startTime = System.currentTimeMillis();
+		System.out.println("Compiling " + filename + "...");
+		compile(new LexicographicTree(filename), image, Paths.get(filename));
+		System.out.println("Compile time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+		System.out.println("Image size : " + Files.size(image) / 1024 + " KB");
+
+		startTime = System.nanoTime();
+		MappedLexicon dict = open(image);
+		System.out.println("Open time : " + (System.nanoTime() - startTime) / 1e6 + " ms");
+		System.out.println("Number of words : " + dict.size());
+	}
+}
@@ -1,5 +1,7 @@
 package tree;
 
+import java.util.Arrays;
+
 /**
  * Classe qui est un noeud dans l'arbre qui connait sa lettre, 
  * s'il est la fin d'un mot, ses noeuds suivants et 
@@ -8,9 +10,23 @@ package tree;
  */
 public class Noeud {
 	
+	/**
+	 * symboles acceptés par l'arbre, dans l'ordre des bits de l'occupation
+	 */
+	static final String SYMBOLES = Alphabet.FRENCH.getSymbols();
+	
 	private char letter;
 	private boolean endWord = false;
+	/*
+	 * bit i à 1 si l'enfant portant SYMBOLES.charAt(i) existe ; les enfants 
+	 * sont rangés dans noeudSuivant dans l'ordre des bits, suivis des enfants 
+	 * dont la lettre n'est pas dans SYMBOLES triés par lettre. Toutes ces 
+	 * lettres venant après 'Z', les enfants sont dans l'ordre alphabétique
+	 */
+	private int occupation;
 	private Noeud[] noeudSuivant;
+	private int nombreSuivant;
+	private int nombreMots;
 	
 	/**
 	 * constructeur de Noeud sans spécifier de lettre 
@@ -44,6 +60,30 @@ public class Noeud {
 		this.endWord = true;
 	}
 	
+    /**
+     * indique que le noeud n'est plus la fin d'un mot
+     */
+	public void clearEndWord() {
+		this.endWord = false;
+	}
+	
+	/**
+	 * retourne le nombre de mots du sous-arbre, le noeud compris
+	 * @return le nombre de mots du sous-arbre
+	 */
+	public int getNombreMots() {
+		return nombreMots;
+	}
+	
+	/**
+	 * ajoute au nombre de mots du sous-arbre
+	 * @param nombre
+	 * 		nombre de mots ajoutés au sous-arbre
+	 */
+	public void ajouterMots(int nombre) {
+		this.nombreMots += nombre;
+	}
+	
 	/**
 	 * retourne la lettre du noeud
 	 * @return la lettre du noeud
@@ -61,13 +101,22 @@ public class Noeud {
 	}
 	
 	/**
-	 * retourne le tableau des noeud suivants
+	 * retourne le tableau des noeud suivants, seules les 
+	 * getNombreSuivant() premières cases sont occupées
 	 * @return le tableau des noeud suivants
 	 */
 	public Noeud[] getNoeudSuivant() {
 		return noeudSuivant;
 	}
 	
+	/**
+	 * retourne le nombre de noeuds suivants
+	 * @return le nombre de noeuds suivants
+	 */
+	public int getNombreSuivant() {
+		return nombreSuivant;
+	}
+	
 	/**
 	 * cherche un noeud dans le tableau des noeuds enfants avec 
 	 * la lettre qu'on cherche
@@ -76,32 +125,110 @@ public class Noeud {
 	 * @return noeud enfant représentant la lettre
 	 */
 	public Noeud getNoeudCourant(char letter) {
-		
-		if(this.noeudSuivant != null) {
-			for(int i = 0; i < this.noeudSuivant.length; i++) {
-				if(this.noeudSuivant[i].getLetter() == letter) {
-					return this.noeudSuivant[i];
-				}
+		int index = indexSymbole(letter);
+		if(index >= 0) {
+			return getNoeudSymbole(index);
+		}
+		for(int i = Integer.bitCount(this.occupation); i < this.nombreSuivant; i++) {
+			if(this.noeudSuivant[i].getLetter() == letter) {
+				return this.noeudSuivant[i];
 			}
 		}
 		return null;
 	}
 	
 	/**
-     * ajoute un noeud dans le tableau du noeud actuel
+	 * retourne l'enfant qui porte un symbole
+	 * @param code
+	 * 			code du symbole dans Alphabet.FRENCH
+	 * @return noeud enfant représentant le symbole, null s'il n'existe pas
+	 */
+	public Noeud getNoeudSymbole(int code) {
+		if((this.occupation & (1 << code)) == 0) {
+			return null;
+		}
+		return this.noeudSuivant[Integer.bitCount(this.occupation & ((1 << code) - 1))];
+	}
+	
+	/**
+     * ajoute un noeud dans le tableau du noeud actuel, à sa place 
+     * dans l'ordre alphabétique
      * @param suivant
      * 		noeud qu'on doit ajouter
      */
     public void addNoeudSuivant(Noeud suivant){
     	if(this.noeudSuivant == null) {
-    		this.noeudSuivant = new Noeud[0];
+    		this.noeudSuivant = new Noeud[1];
+    	}else if(this.nombreSuivant == this.noeudSuivant.length) {
+    		int capacite = Math.min(this.nombreSuivant * 2, SYMBOLES.length());
+    		this.noeudSuivant = Arrays.copyOf(this.noeudSuivant, Math.max(capacite, this.nombreSuivant + 1));
     	}
     	
-		int N = this.noeudSuivant.length;
-		Noeud[] newSuivant = new Noeud[N+1];
-		System.arraycopy(this.noeudSuivant,0,newSuivant, 0, N);
-		newSuivant[N] = suivant;
-		this.noeudSuivant = newSuivant;
+    	int index = indexSymbole(suivant.getLetter());
+    	int position = this.nombreSuivant;
+    	if(index >= 0) {
+    		position = Integer.bitCount(this.occupation & ((1 << index) - 1));
+    		this.occupation |= 1 << index;
+    	}else {
+    		while(position > Integer.bitCount(this.occupation) 
+    				&& this.noeudSuivant[position - 1].getLetter() > suivant.getLetter()) {
+    			position--;
+    		}
+    	}
+    	System.arraycopy(this.noeudSuivant, position, this.noeudSuivant, position + 1, this.nombreSuivant - position);
+    	this.noeudSuivant[position] = suivant;
+    	this.nombreSuivant++;
 	}
+    
+    /**
+     * retire un noeud du tableau du noeud actuel, les noeuds suivants 
+     * gardent l'ordre alphabétique. Le tableau est libéré quand il ne 
+     * reste plus d'enfant
+     * @param suivant
+     * 		noeud qu'on doit retirer
+     */
+    public void removeNoeudSuivant(Noeud suivant) {
+    	int position = -1;
+    	for(int i = 0; i < this.nombreSuivant; i++) {
+    		if(this.noeudSuivant[i] == suivant) {
+    			position = i;
+    			break;
+    		}
+    	}
+    	if(position < 0) {
+    		return;
+    	}
+    	int index = indexSymbole(suivant.getLetter());
+    	if(index >= 0) {
+    		this.occupation &= ~(1 << index);
+    	}
+    	this.nombreSuivant--;
+    	System.arraycopy(this.noeudSuivant, position + 1, this.noeudSuivant, position, this.nombreSuivant - position);
+    	this.noeudSuivant[this.nombreSuivant] = null;
+    	if(this.nombreSuivant == 0) {
+    		this.noeudSuivant = null;
+    	}
+    }
+    
+    /**
+     * réduit le tableau des noeuds suivants à sa taille exacte
+     */
+    public void compacter() {
+    	if(this.nombreSuivant == 0) {
+    		this.noeudSuivant = null;
+    	}else if(this.nombreSuivant < this.noeudSuivant.length) {
+    		this.noeudSuivant = Arrays.copyOf(this.noeudSuivant, this.nombreSuivant);
+    	}
+    }
+    
+    /**
+     * retourne la position de la lettre dans SYMBOLES
+     * @param letter
+     * 		lettre à chercher
+     * @return position de la lettre, -1 si elle n'est pas un symbole
+     */
+    static int indexSymbole(char letter) {
+    	return Alphabet.FRENCH.code(letter);
+    }
 	
 }
@@ -0,0 +1,476 @@
+package tree;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lexicographic tree whose nodes are stored outside the Java heap, for
+ * dictionaries that do not fit in it. The nodes are fixed-size records in
+ * segments of SEGMENT_NODES nodes, allocated one by one as the tree grows,
+ * either as direct buffers or as regions of a memory-mapped file. A node
+ * is an int handle: its segment and its record in the segment. The heap
+ * only holds the segment table, so heap usage and collection pauses do
+ * not depend on the number of words.
+ *
+ * Direct segments count towards -XX:MaxDirectMemorySize, which defaults
+ * to the maximum heap; mapped segments are only limited by the disk and
+ * the address space. Handles limit the tree to 2^31 - 1 nodes.
+ *
+ * Insertions and lookups use the folding of LexicographicTree, so loading
+ * the same lines into both yields the same words.
+ */
+public final class OffHeapLexicographicTree implements Lexicon, AutoCloseable {
+
+	/**
+	 * Number of nodes in a segment.
+	 */
+	public static final int SEGMENT_NODES = 1 << 20;
+
+	/*
+	 * un noeud occupe 12 octets : premier enfant (int), frère suivant (int),
+	 * lettre (char), fin de mot (short). Les frères sont triés par lettre,
+	 * et la poignée 0 de la racine signifie aussi « pas de noeud »
+	 */
+	private static final int TAILLE_NOEUD = 12;
+	private static final int PREMIER_ENFANT = 0;
+	private static final int FRERE_SUIVANT = 4;
+	private static final int LETTRE = 8;
+	private static final int FIN_MOT = 10;
+	private static final int BITS_SEGMENT = 20;
+	private static final int MASQUE_SEGMENT = SEGMENT_NODES - 1;
+	private static final int RACINE = 0;
+	private static final int AUCUN = 0;
+
+	private final FileChannel fichier;
+	private ByteBuffer[] segments = new ByteBuffer[16];
+	private int nombreSegments = 0;
+	private int nombreNoeuds = 0;
+	private int numberWord = 0;
+	private int hauteur = 0;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : creates an empty tree stored in direct buffers.
+	 */
+	public OffHeapLexicographicTree() {
+		this.fichier = null;
+		allouer();
+	}
+
+	/**
+	 * Constructor : creates an empty tree stored in a memory-mapped file.
+	 * The file is truncated and grows by one segment at a time.
+	 * @param backingFile Path of the file holding the nodes
+	 * @throws IOException If the file cannot be opened
+	 */
+	public OffHeapLexicographicTree(Path backingFile) throws IOException {
+		this.fichier = FileChannel.open(backingFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		allouer();
+	}
+
+	/**
+	 * Constructor : creates a tree stored in direct buffers populated with words
+	 * @param filename A text file containing the words to be inserted in the tree
+	 */
+	public OffHeapLexicographicTree(String filename) {
+		this();
+		try(BufferedReader br = new BufferedReader(new FileReader(new File(filename)))){
+			String line = br.readLine();
+			while(line != null){
+				insertWord(line);
+				line = br.readLine();
+			}
+		}catch (IOException e) {
+
+		}
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	@Override
+	public int size() {
+		return numberWord;
+	}
+
+	/**
+	 * Inserts a word in the tree if not already present. Letters are folded
+	 * like in LexicographicTree.insertWord.
+	 * @param word A word
+	 * @throws UncheckedIOException If a new segment of the backing file cannot be mapped
+	 */
+	public void insertWord(String word) {
+		if(word == null) {
+			return;
+		}
+		int noeud = RACINE;
+		if(!word.isEmpty()) {
+			word = word.toLowerCase().trim();
+			if(word.isEmpty()) {
+				return;
+			}
+			// une ligne sans lettre marque la racine, comme dans LexicographicTree
+			String symboles = LexicographicTree.symboles(word);
+			for(int i = 0; i < symboles.length(); i++) {
+				noeud = ajouterEnfant(noeud, symboles.charAt(i));
+			}
+			hauteur = Math.max(hauteur, symboles.length());
+		}
+		if(!isEndWord(noeud)) {
+			segment(noeud).putShort(position(noeud) + FIN_MOT, (short) 1);
+			numberWord++;
+		}
+	}
+
+	@Override
+	public boolean containsWord(String word) {
+		if(word == null)
+			return false;
+		int noeud = checkPrefix(word);
+		return noeud >= 0 && isEndWord(noeud);
+	}
+
+	@Override
+	public boolean containsPrefix(String prefix) {
+		if(prefix == null)
+			return false;
+		return checkPrefix(prefix) >= 0;
+	}
+
+	@Override
+	public List<String> getWords(String prefix) {
+		List<String> wordSave = new ArrayList<>();
+		char[] cle = prefix == null ? new char[0] : LexicographicTree.normaliserCle(prefix);
+		int noeud = checkPrefix(cle);
+		if(noeud >= 0) {
+			getWord(wordSave, Arrays.copyOf(cle, cle.length + hauteur), cle.length, noeud, -1);
+		}
+		return wordSave;
+	}
+
+	@Override
+	public List<String> getWordsOfLength(int length) {
+		List<String> wordSave = new ArrayList<>();
+		if(length > 0 && length <= hauteur) {
+			getWord(wordSave, new char[length], 0, RACINE, length);
+		}
+		return wordSave;
+	}
+
+	@Override
+	public TrieCursor cursor() {
+		return new CurseurGraphe() {
+			@Override
+			int enfant(int noeud, char letter) {
+				return OffHeapLexicographicTree.this.enfant(noeud, letter);
+			}
+
+			@Override
+			boolean isEndWord(int noeud) {
+				return OffHeapLexicographicTree.this.isEndWord(noeud);
+			}
+
+			@Override
+			boolean hasChildren(int noeud) {
+				return premierEnfant(noeud) != AUCUN;
+			}
+		};
+	}
+
+	/**
+	 * Returns the number of nodes, the root included.
+	 * @return The number of nodes
+	 */
+	public int nodeCount() {
+		return nombreNoeuds;
+	}
+
+	/**
+	 * Returns the memory reserved outside the heap, whole segments included.
+	 * @return The reserved memory in bytes
+	 */
+	public long offHeapBytes() {
+		return (long) nombreSegments * SEGMENT_NODES * TAILLE_NOEUD;
+	}
+
+	/**
+	 * Closes the backing file, if any. Direct segments are released with
+	 * the tree by the garbage collector, mapped segments with their buffers.
+	 * @throws IOException If the backing file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if(fichier != null) {
+			fichier.close();
+		}
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * retourne le segment qui contient un noeud
+	 * @param noeud
+	 * 		poignée du noeud
+	 * @return le segment
+	 */
+	private ByteBuffer segment(int noeud) {
+		return segments[noeud >>> BITS_SEGMENT];
+	}
+
+	/**
+	 * retourne la position d'un noeud dans son segment
+	 * @param noeud
+	 * 		poignée du noeud
+	 * @return position en octets
+	 */
+	private static int position(int noeud) {
+		return (noeud & MASQUE_SEGMENT) * TAILLE_NOEUD;
+	}
+
+	/**
+	 * @param noeud
+	 * 		poignée du noeud
+	 * @return premier enfant du noeud, AUCUN s'il n'en a pas
+	 */
+	private int premierEnfant(int noeud) {
+		return segment(noeud).getInt(position(noeud) + PREMIER_ENFANT);
+	}
+
+	/**
+	 * @param noeud
+	 * 		poignée du noeud
+	 * @return frère suivant du noeud, AUCUN s'il n'en a pas
+	 */
+	private int frereSuivant(int noeud) {
+		return segment(noeud).getInt(position(noeud) + FRERE_SUIVANT);
+	}
+
+	/**
+	 * @param noeud
+	 * 		poignée du noeud
+	 * @return lettre du noeud
+	 */
+	private char lettre(int noeud) {
+		return segment(noeud).getChar(position(noeud) + LETTRE);
+	}
+
+	/**
+	 * @param noeud
+	 * 		poignée du noeud
+	 * @return true si le noeud termine un mot
+	 */
+	private boolean isEndWord(int noeud) {
+		return segment(noeud).getShort(position(noeud) + FIN_MOT) != 0;
+	}
+
+	/**
+	 * cherche l'enfant portant la lettre parmi les frères triés
+	 * @param noeud
+	 * 		noeud courant
+	 * @param letter
+	 * 		lettre cherchée
+	 * @return l'enfant, -1 s'il n'existe pas
+	 */
+	private int enfant(int noeud, char letter) {
+		for(int e = premierEnfant(noeud); e != AUCUN; e = frereSuivant(e)) {
+			char l = lettre(e);
+			if(l >= letter) {
+				return l == letter ? e : -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * retourne l'enfant portant la lettre, en le créant à sa place parmi
+	 * les frères s'il n'existe pas
+	 * @param noeud
+	 * 		noeud courant
+	 * @param letter
+	 * 		lettre de l'enfant
+	 * @return l'enfant
+	 */
+	private int ajouterEnfant(int noeud, char letter) {
+		int precedent = AUCUN;
+		int e = premierEnfant(noeud);
+		while(e != AUCUN && lettre(e) < letter) {
+			precedent = e;
+			e = frereSuivant(e);
+		}
+		if(e != AUCUN && lettre(e) == letter) {
+			return e;
+		}
+		int nouveau = allouer();
+		ByteBuffer segment = segment(nouveau);
+		int position = position(nouveau);
+		segment.putChar(position + LETTRE, letter);
+		segment.putInt(position + FRERE_SUIVANT, e);
+		if(precedent == AUCUN) {
+			segment(noeud).putInt(position(noeud) + PREMIER_ENFANT, nouveau);
+		}else {
+			segment(precedent).putInt(position(precedent) + FRERE_SUIVANT, nouveau);
+		}
+		return nouveau;
+	}
+
+	/**
+	 * retourne une nouvelle poignée, en ajoutant un segment si le dernier est plein.
+	 * Les segments neufs sont remplis de zéros, donc le noeud n'a ni enfant ni frère
+	 * @return la poignée
+	 */
+	private int allouer() {
+		if(nombreNoeuds == Integer.MAX_VALUE) {
+			throw new IllegalStateException("Too many nodes for int handles");
+		}
+		if(nombreNoeuds == nombreSegments << BITS_SEGMENT) {
+			if(nombreSegments == segments.length) {
+				segments = Arrays.copyOf(segments, segments.length * 2);
+			}
+			segments[nombreSegments] = nouveauSegment(nombreSegments);
+			nombreSegments++;
+		}
+		return nombreNoeuds++;
+	}
+
+	/**
+	 * réserve un segment hors du tas
+	 * @param rang
+	 * 		rang du segment
+	 * @return le segment, rempli de zéros
+	 */
+	private ByteBuffer nouveauSegment(int rang) {
+		int taille = SEGMENT_NODES * TAILLE_NOEUD;
+		if(fichier == null) {
+			return ByteBuffer.allocateDirect(taille).order(ByteOrder.nativeOrder());
+		}
+		try {
+			return fichier.map(FileChannel.MapMode.READ_WRITE, (long) rang * taille, taille).order(ByteOrder.nativeOrder());
+		}catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * lit les segments le long d'un préfix, ses lettres étant pliées par
+	 * LexicographicTree.plierLettre
+	 * @param prefix
+	 * 		préfix qu'on cherche
+	 * @return noeud atteint, -1 si le préfix n'existe pas
+	 */
+	private int checkPrefix(String prefix) {
+		int courant = RACINE;
+		for(int i = 0; i < prefix.length() && courant >= 0; i++) {
+			char letter = LexicographicTree.plierLettre(prefix.charAt(i));
+			if(letter >= 0x80) {
+				return checkPrefix(LexicographicTree.normaliserCle(prefix));
+			}
+			courant = enfant(courant, letter);
+		}
+		return courant;
+	}
+
+	/**
+	 * suit des lettres déjà normalisées depuis la racine
+	 * @param cle
+	 * 		lettres normalisées
+	 * @return noeud atteint, -1 si le préfix n'existe pas
+	 */
+	private int checkPrefix(char[] cle) {
+		int courant = RACINE;
+		for(int i = 0; i < cle.length && courant >= 0; i++) {
+			courant = enfant(courant, cle[i]);
+		}
+		return courant;
+	}
+
+	/**
+	 * parcours en profondeur qui ajoute les mots dans l'ordre alphabétique
+	 * @param listWords
+	 * 		liste des mots trouvés
+	 * @param wordBuild
+	 * 		mot en construction, assez long pour le plus long mot
+	 * @param length
+	 * 		longueur du mot en construction
+	 * @param actuel
+	 * 		noeud courant
+	 * @param longueurVoulue
+	 * 		longueur exacte des mots voulus, -1 pour toutes les longueurs
+	 */
+	private void getWord(List<String> listWords, char[] wordBuild, int length, int actuel, int longueurVoulue) {
+		if(length > 0 && (longueurVoulue < 0 || length == longueurVoulue) && isEndWord(actuel)) {
+			listWords.add(new String(wordBuild, 0, length));
+		}
+		if(length == longueurVoulue) {
+			return;
+		}
+		for(int e = premierEnfant(actuel); e != AUCUN; e = frereSuivant(e)) {
+			wordBuild[length] = lettre(e);
+			getWord(listWords, wordBuild, length + 1, e, longueurVoulue);
+		}
+	}
+
+	/**
+	 * retourne le nombre et la durée cumulée des collections depuis le démarrage
+	 * @return nombre de collections et durée en millisecondes
+	 */
+	private static long[] collections() {
+		long[] total = new long[2];
+		for(GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			total[0] += Math.max(0, gc.getCollectionCount());
+			total[1] += Math.max(0, gc.getCollectionTime());
+		}
+		return total;
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	/**
+	 * Inserts the counter stream of CapacityHarness and prints, every few
+	 * million words, the off-heap size, the heap in use and the collections.
+	 * Arguments : number of words (default 50 000 000), then an optional
+	 * backing file to use mapped segments instead of direct buffers.
+	 * @param args Number of words and backing file
+	 * @throws IOException If the backing file cannot be used
+	 */
+	public static void main(String[] args) throws IOException {
+		long total = args.length > 0 ? Long.parseLong(args[0]) : 50_000_000L;
+		CapacityHarness flux = CapacityHarness.counter("AM");
+		try(OffHeapLexicographicTree dict = args.length > 1 ? new OffHeapLexicographicTree(Paths.get(args[1])) : new OffHeapLexicographicTree()) {
+			System.out.println("words,nodes,offHeapMB,heapMB,gcCount,gcMs");
+			long startTime = System.currentTimeMillis();
+			for(long i = 1; i <= total; i++) {
+				dict.insertWord(flux.genererMot(i - 1, null));
+				if(i % 5_000_000 == 0 || i == total) {
+					Runtime runtime = Runtime.getRuntime();
+					long[] gc = collections();
+					System.out.println(i + "," + dict.nodeCount() + "," + dict.offHeapBytes() / (1024 * 1024) + ","
+							+ (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024) + "," + gc[0] + "," + gc[1]);
+				}
+			}
+			System.out.println("Insertion : " + (System.currentTimeMillis() - startTime) + " ms");
+		}
+	}
+}
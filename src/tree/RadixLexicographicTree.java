@@ -0,0 +1,477 @@
+package tree;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Lexicographic tree with path compression (radix or Patricia tree): a
+ * chain of nodes having a single child and no end of word is collapsed
+ * into one edge labelled with all its letters. The labels are slices of a
+ * single shared array of letters, so an edge costs no object of its own,
+ * and an insertion that leaves an edge in the middle of its label splits
+ * it in two without copying letters. Lookups compare whole labels at once,
+ * so a word costs one node per branching or end of word instead of one
+ * node per letter. Words are folded like in LexicographicTree and
+ * the two trees give the same answers.
+ */
+public class RadixLexicographicTree implements Lexicon {
+	private final NoeudRadix arbre = new NoeudRadix(0, 0, false);
+	/*
+	 * lettres de toutes les étiquettes : l'étiquette d'un noeud est la
+	 * tranche [debut, debut + longueur) ; on n'y fait qu'ajouter
+	 */
+	private char[] lettres = new char[1024];
+	private int nombreLettres;
+	private int numberWord = 0;
+	private int nodeCount = 1;
+	private int hauteur = 0;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : creates an empty tree.
+	 */
+	public RadixLexicographicTree() {
+	}
+
+	/**
+	 * Constructor : creates a tree populated with words
+	 * @param filename A text file containing the words to be inserted in the tree
+	 */
+	public RadixLexicographicTree(String filename) {
+		try(BufferedReader br = new BufferedReader(new FileReader(new File(filename)))){
+			String line = br.readLine();
+			while(line != null){
+				insertWord(line);
+				line = br.readLine();
+			}
+		}catch (IOException e) {
+
+		}
+		compact();
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	@Override
+	public int size() {
+		return numberWord;
+	}
+
+	/**
+	 * Inserts a word in the tree if not already present. Letters are folded
+	 * like in LexicographicTree.insertWord.
+	 * @param word A word
+	 */
+	public void insertWord(String word) {
+		if(word == null) {
+			return;
+		}
+		char[] symboles = new char[0];
+		if(!word.isEmpty()) {
+			word = word.toLowerCase().trim();
+			if(word.isEmpty()) {
+				return;
+			}
+			// comme dans LexicographicTree, un mot sans lettre marque la racine
+			symboles = LexicographicTree.symboles(word).toCharArray();
+		}
+		if(inserer(symboles)) {
+			numberWord++;
+			hauteur = Math.max(hauteur, symboles.length);
+		}
+	}
+
+	@Override
+	public boolean containsWord(String word) {
+		if(word == null)
+			return false;
+		char[] cle = LexicographicTree.normaliserCle(word);
+		NoeudRadix[] trouve = new NoeudRadix[1];
+		int fin = descendre(cle, trouve);
+		return fin >= 0 && fin == trouve[0].longueur && trouve[0].finMot;
+	}
+
+	@Override
+	public boolean containsPrefix(String prefix) {
+		if(prefix == null)
+			return false;
+		return descendre(LexicographicTree.normaliserCle(prefix), new NoeudRadix[1]) >= 0;
+	}
+
+	@Override
+	public List<String> getWords(String prefix) {
+		List<String> wordSave = new ArrayList<>();
+		char[] cle = prefix == null ? new char[0] : LexicographicTree.normaliserCle(prefix);
+		NoeudRadix[] trouve = new NoeudRadix[1];
+		int fin = descendre(cle, trouve);
+		if(fin < 0) {
+			return wordSave;
+		}
+		// le préfixe peut s'arrêter au milieu d'une arête : on complète avec la fin de l'étiquette
+		NoeudRadix noeud = trouve[0];
+		int reste = noeud.longueur - fin;
+		char[] wordBuild = Arrays.copyOf(cle, cle.length + reste + hauteur);
+		System.arraycopy(lettres, noeud.debut + fin, wordBuild, cle.length, reste);
+		int length = cle.length + reste;
+		if(length > 0 && noeud.finMot) {
+			wordSave.add(new String(wordBuild, 0, length));
+		}
+		getWord(wordSave, wordBuild, length, noeud, Integer.MAX_VALUE);
+		return wordSave;
+	}
+
+	@Override
+	public List<String> getWordsOfLength(int length) {
+		List<String> wordSave = new ArrayList<>();
+		if(length > 0 && length <= hauteur) {
+			getWord(wordSave, new char[length], 0, this.arbre, length);
+		}
+		return wordSave;
+	}
+
+	@Override
+	public TrieCursor cursor() {
+		return new Curseur();
+	}
+
+	/**
+	 * Shrinks the child arrays of every node and the shared letter array to
+	 * their exact size. The file constructor does it once all words are read.
+	 */
+	public void compact() {
+		lettres = Arrays.copyOf(lettres, nombreLettres);
+		compacter(this.arbre);
+	}
+
+	/**
+	 * Returns the number of nodes, the root included. Each node ends a word
+	 * or has several children, apart from the root.
+	 * @return The number of nodes
+	 */
+	public int nodeCount() {
+		return nodeCount;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * insère un mot normalisé, en coupant l'arête où il s'en écarte
+	 * @param symboles
+	 * 		lettres normalisées du mot
+	 * @return true si le mot n'était pas déjà présent
+	 */
+	private boolean inserer(char[] symboles) {
+		NoeudRadix noeud = this.arbre;
+		int i = 0;
+		while(i < symboles.length) {
+			int k = noeud.indice(symboles[i]);
+			if(k < 0) {
+				noeud.ajouter(-k - 1, new NoeudRadix(ajouterLettres(symboles, i), symboles.length - i, true), symboles[i]);
+				nodeCount++;
+				return true;
+			}
+			NoeudRadix enfant = noeud.enfants[k];
+			int commun = communs(enfant, symboles, i);
+			if(commun < enfant.longueur) {
+				// le mot quitte l'arête en son milieu : un noeud intermédiaire porte le début
+				NoeudRadix milieu = new NoeudRadix(enfant.debut, commun, false);
+				enfant.debut += commun;
+				enfant.longueur -= commun;
+				milieu.ajouter(0, enfant, lettres[enfant.debut]);
+				noeud.enfants[k] = milieu;
+				nodeCount++;
+				enfant = milieu;
+			}
+			noeud = enfant;
+			i += commun;
+		}
+		if(noeud.finMot) {
+			return false;
+		}
+		noeud.finMot = true;
+		return true;
+	}
+
+	/**
+	 * suit les lettres depuis la racine
+	 * @param cle
+	 * 		lettres normalisées
+	 * @param trouve
+	 * 		reçoit le noeud dont l'arête contient la dernière lettre, la
+	 * 		racine si la clé est vide
+	 * @return nombre de lettres de l'étiquette de ce noeud utilisées, -1 si
+	 * 		aucun mot ne commence par la clé
+	 */
+	private int descendre(char[] cle, NoeudRadix[] trouve) {
+		NoeudRadix noeud = this.arbre;
+		int i = 0;
+		int fin = 0;
+		while(i < cle.length) {
+			int k = noeud.indice(cle[i]);
+			if(k < 0) {
+				return -1;
+			}
+			noeud = noeud.enfants[k];
+			fin = Math.min(noeud.longueur, cle.length - i);
+			if(Arrays.mismatch(lettres, noeud.debut, noeud.debut + fin, cle, i, i + fin) >= 0) {
+				return -1;
+			}
+			i += fin;
+		}
+		trouve[0] = noeud;
+		return fin;
+	}
+
+	/**
+	 * réduit les tableaux d'enfants du sous-arbre à leur taille exacte
+	 * @param noeud
+	 * 		racine du sous-arbre
+	 */
+	private static void compacter(NoeudRadix noeud) {
+		if(noeud.enfants != null && noeud.enfants.length > noeud.nombre) {
+			noeud.premieres = Arrays.copyOf(noeud.premieres, noeud.nombre);
+			noeud.enfants = Arrays.copyOf(noeud.enfants, noeud.nombre);
+		}
+		for(int k = 0; k < noeud.nombre; k++) {
+			compacter(noeud.enfants[k]);
+		}
+	}
+
+	/**
+	 * ajoute la fin d'un mot aux lettres des étiquettes
+	 * @param symboles
+	 * 		lettres du mot
+	 * @param debut
+	 * 		position de la première lettre à ajouter
+	 * @return position des lettres ajoutées
+	 */
+	private int ajouterLettres(char[] symboles, int debut) {
+		int longueur = symboles.length - debut;
+		if(nombreLettres + longueur > lettres.length) {
+			lettres = Arrays.copyOf(lettres, Math.max(lettres.length * 2, nombreLettres + longueur));
+		}
+		System.arraycopy(symboles, debut, lettres, nombreLettres, longueur);
+		nombreLettres += longueur;
+		return nombreLettres - longueur;
+	}
+
+	/**
+	 * retourne la longueur du début commun de l'étiquette d'un noeud et de 
+	 * la fin d'un mot
+	 * @param noeud
+	 * 		noeud dont on compare l'étiquette
+	 * @param symboles
+	 * 		lettres du mot
+	 * @param debut
+	 * 		position de la première lettre du mot à comparer
+	 * @return nombre de lettres communes, au moins 1 car la première est commune
+	 */
+	private int communs(NoeudRadix noeud, char[] symboles, int debut) {
+		int fin = Math.min(noeud.longueur, symboles.length - debut);
+		int difference = Arrays.mismatch(lettres, noeud.debut, noeud.debut + fin, symboles, debut, debut + fin);
+		return difference < 0 ? fin : difference;
+	}
+
+	/**
+	 * parcours en profondeur qui ajoute les mots dans l'ordre alphabétique
+	 * @param listWords
+	 * 		liste des mots trouvés
+	 * @param wordBuild
+	 * 		mot en construction
+	 * @param length
+	 * 		longueur du mot en construction
+	 * @param actuel
+	 * 		noeud courant
+	 * @param longueurVoulue
+	 * 		longueur exacte des mots voulus, Integer.MAX_VALUE pour tous
+	 */
+	private void getWord(List<String> listWords, char[] wordBuild, int length, NoeudRadix actuel, int longueurVoulue) {
+		for(int k = 0; k < actuel.nombre; k++) {
+			NoeudRadix suivant = actuel.enfants[k];
+			int suite = length + suivant.longueur;
+			if(suite > longueurVoulue) {
+				continue;
+			}
+			System.arraycopy(lettres, suivant.debut, wordBuild, length, suivant.longueur);
+			if(suivant.finMot && (longueurVoulue == Integer.MAX_VALUE || suite == longueurVoulue)) {
+				listWords.add(new String(wordBuild, 0, suite));
+			}
+			if(suite < longueurVoulue) {
+				getWord(listWords, wordBuild, suite, suivant, longueurVoulue);
+			}
+		}
+	}
+
+	/**
+	 * noeud atteint par une arête étiquetée de plusieurs lettres ; les
+	 * enfants sont triés par la première lettre de leur étiquette, recopiée
+	 * dans premieres pour les chercher sans lire les enfants
+	 */
+	private static final class NoeudRadix {
+		int debut;
+		int longueur;
+		boolean finMot;
+		char[] premieres;
+		NoeudRadix[] enfants;
+		int nombre;
+
+		NoeudRadix(int debut, int longueur, boolean finMot) {
+			this.debut = debut;
+			this.longueur = longueur;
+			this.finMot = finMot;
+		}
+
+		/**
+		 * cherche l'enfant dont l'étiquette commence par la lettre
+		 * @param letter
+		 * 		lettre cherchée
+		 * @return indice de l'enfant, ou -(position d'insertion) - 1
+		 */
+		int indice(char letter) {
+			return nombre == 0 ? -1 : Arrays.binarySearch(premieres, 0, nombre, letter);
+		}
+
+		/**
+		 * ajoute un enfant à sa place
+		 * @param position
+		 * 		indice de l'enfant une fois ajouté
+		 * @param enfant
+		 * 		enfant à ajouter
+		 * @param premiere
+		 * 		première lettre de son étiquette
+		 */
+		void ajouter(int position, NoeudRadix enfant, char premiere) {
+			if(enfants == null) {
+				premieres = new char[1];
+				enfants = new NoeudRadix[1];
+			}else if(nombre == enfants.length) {
+				premieres = Arrays.copyOf(premieres, nombre * 2);
+				enfants = Arrays.copyOf(enfants, nombre * 2);
+			}
+			System.arraycopy(premieres, position, premieres, position + 1, nombre - position);
+			System.arraycopy(enfants, position, enfants, position + 1, nombre - position);
+			premieres[position] = premiere;
+			enfants[position] = enfant;
+			nombre++;
+		}
+	}
+
+	/**
+	 * curseur qui peut s'arrêter au milieu d'une arête : chaque profondeur
+	 * garde le noeud de l'arête et le nombre de lettres de son étiquette lues
+	 */
+	private final class Curseur implements TrieCursor {
+		private NoeudRadix[] noeuds = new NoeudRadix[32];
+		private int[] positions = new int[32];
+		private int profondeur;
+
+		Curseur() {
+			noeuds[0] = arbre;
+		}
+
+		@Override
+		public boolean push(char letter) {
+			char symbole = LexicographicTree.normaliserLettre(letter);
+			NoeudRadix noeud = noeuds[profondeur];
+			int position = positions[profondeur];
+			if(position < noeud.longueur) {
+				if(lettres[noeud.debut + position] != symbole) {
+					return false;
+				}
+				position++;
+			}else {
+				int k = noeud.indice(symbole);
+				if(k < 0) {
+					return false;
+				}
+				noeud = noeud.enfants[k];
+				position = 1;
+			}
+			if(++profondeur == noeuds.length) {
+				noeuds = Arrays.copyOf(noeuds, noeuds.length * 2);
+				positions = Arrays.copyOf(positions, positions.length * 2);
+			}
+			noeuds[profondeur] = noeud;
+			positions[profondeur] = position;
+			return true;
+		}
+
+		@Override
+		public void pop() {
+			if(profondeur == 0) {
+				throw new IllegalStateException();
+			}
+			profondeur--;
+		}
+
+		@Override
+		public boolean isWord() {
+			NoeudRadix noeud = noeuds[profondeur];
+			return positions[profondeur] == noeud.longueur && noeud.finMot;
+		}
+
+		@Override
+		public boolean hasChildren() {
+			NoeudRadix noeud = noeuds[profondeur];
+			return positions[profondeur] < noeud.longueur || noeud.nombre > 0;
+		}
+
+		@Override
+		public int depth() {
+			return profondeur;
+		}
+
+		@Override
+		public void reset() {
+			profondeur = 0;
+		}
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	public static void main(String[] args) {
+		String filename = args.length > 0 ? args[0] : "mots/dictionnaire_FR_avec_accents.txt";
+		long startTime = System.currentTimeMillis();
+		LexicographicTree dict = new LexicographicTree(filename);
+		System.out.println("Tree load time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+		startTime = System.currentTimeMillis();
+		RadixLexicographicTree radix = new RadixLexicographicTree(filename);
+		System.out.println("Radix load time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+		System.out.println("Nodes : " + dict.stats().nodeCount() + " -> " + radix.nodeCount());
+
+		List<String> words = dict.getWords("");
+		Collections.shuffle(words, new Random(0));
+		for(int i = 0; i < 3; i++) {
+			for(String word : words) {
+				dict.containsWord(word);
+				radix.containsWord(word);
+			}
+		}
+		startTime = System.nanoTime();
+		for(String word : words) {
+			dict.containsWord(word);
+		}
+		System.out.printf("Tree containsWord : %.0f ns%n", (System.nanoTime() - startTime) / (double) words.size());
+		startTime = System.nanoTime();
+		for(String word : words) {
+			radix.containsWord(word);
+		}
+		System.out.printf("Radix containsWord : %.0f ns%n", (System.nanoTime() - startTime) / (double) words.size());
+	}
+}
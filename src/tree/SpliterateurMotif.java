@@ -0,0 +1,107 @@
+package tree;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * parcours paresseux des mots qui correspondent à un motif, dans l'ordre
+ * alphabétique. Chaque noeud garde les positions du motif atteintes par son
+ * préfix ; un enfant dont la lettre ne laisse aucune position atteinte est
+ * écarté avec tout son sous-arbre.
+ */
+final class SpliterateurMotif implements Spliterator<String> {
+
+	private final WordPattern motif;
+	private char[] mot = new char[16];
+
+	/*
+	 * pile des noeuds en cours : le noeud noeuds[h] est à la profondeur h,
+	 * son préfix atteint les positions etats[h] et il reste à visiter ses
+	 * enfants à partir de prochain[h]
+	 */
+	private Noeud[] noeuds = new Noeud[16];
+	private long[] etats = new long[16];
+	private int[] prochain = new int[16];
+	private int hauteur;
+
+	/**
+	 * constructeur du parcours des mots de l'arbre
+	 * @param racine
+	 * 		racine de l'arbre
+	 * @param motif
+	 * 		motif des mots voulus
+	 */
+	SpliterateurMotif(Noeud racine, WordPattern motif) {
+		this.motif = motif;
+		empiler(racine, motif.depart());
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super String> action) {
+		while(hauteur > 0) {
+			int h = hauteur - 1;
+			Noeud noeud = noeuds[h];
+			if(prochain[h] == noeud.getNombreSuivant()) {
+				noeuds[h] = null;
+				hauteur--;
+				continue;
+			}
+			Noeud enfant = noeud.getNoeudSuivant()[prochain[h]++];
+			long suivants = motif.avancer(etats[h], enfant.getLetter());
+			if(suivants == 0) {
+				continue;
+			}
+			mot[h] = enfant.getLetter();
+			if(enfant.getNombreSuivant() > 0) {
+				empiler(enfant, suivants);
+			}
+			if(enfant.isEndWord() && motif.accepte(suivants)) {
+				action.accept(new String(mot, 0, h + 1));
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Spliterator<String> trySplit() {
+		return null;
+	}
+
+	@Override
+	public long estimateSize() {
+		return hauteur == 0 ? 0 : Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | SORTED | DISTINCT | NONNULL;
+	}
+
+	@Override
+	public Comparator<? super String> getComparator() {
+		return null;
+	}
+
+	/**
+	 * ajoute un noeud en haut de la pile
+	 * @param noeud
+	 * 		noeud dont on va visiter les enfants
+	 * @param etat
+	 * 		positions du motif atteintes par le préfix du noeud
+	 */
+	private void empiler(Noeud noeud, long etat) {
+		if(hauteur == noeuds.length) {
+			noeuds = Arrays.copyOf(noeuds, hauteur * 2);
+			etats = Arrays.copyOf(etats, hauteur * 2);
+			prochain = Arrays.copyOf(prochain, hauteur * 2);
+			mot = Arrays.copyOf(mot, hauteur * 2);
+		}
+		noeuds[hauteur] = noeud;
+		etats[hauteur] = etat;
+		prochain[hauteur] = 0;
+		hauteur++;
+	}
+}
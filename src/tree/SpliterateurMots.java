@@ -0,0 +1,150 @@
+package tree;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * parcours paresseux des mots d'un sous-arbre dans l'ordre alphabétique. La
+ * mémoire utilisée ne dépend que de la profondeur de l'arbre, et le
+ * parcours se découpe entre les enfants d'un noeud pour être réparti sur
+ * plusieurs coeurs.
+ */
+final class SpliterateurMots implements Spliterator<String> {
+
+	private char[] mot;
+	private int base;
+	private final int longueur;
+	private boolean emettreDepart;
+
+	/*
+	 * pile des noeuds en cours : le noeud noeuds[h] est à la profondeur
+	 * base + h, il reste à visiter ses enfants [prochain[h], fin[h])
+	 */
+	private Noeud[] noeuds = new Noeud[16];
+	private int[] prochain = new int[16];
+	private int[] fin = new int[16];
+	private int hauteur;
+
+	/**
+	 * constructeur du parcours des mots sous un noeud
+	 * @param prefix
+	 * 		lettres du chemin de la racine jusqu'au noeud
+	 * @param depart
+	 * 		noeud de départ
+	 * @param emettreDepart
+	 * 		true si le préfix lui-même doit être le premier mot
+	 * @param longueur
+	 * 		longueur exacte des mots voulus, -1 pour tous
+	 */
+	SpliterateurMots(String prefix, Noeud depart, boolean emettreDepart, int longueur) {
+		this(prefix.toCharArray(), prefix.length(), depart, 0, depart.getNombreSuivant(), emettreDepart, longueur);
+	}
+
+	private SpliterateurMots(char[] prefix, int base, Noeud depart, int debut, int fin, boolean emettreDepart, int longueur) {
+		this.mot = Arrays.copyOf(prefix, base + 16);
+		this.base = base;
+		this.longueur = longueur;
+		this.emettreDepart = emettreDepart;
+		empiler(depart, debut, fin);
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super String> action) {
+		if(emettreDepart) {
+			emettreDepart = false;
+			action.accept(new String(mot, 0, base));
+			return true;
+		}
+		while(hauteur > 0) {
+			int h = hauteur - 1;
+			if(prochain[h] == fin[h]) {
+				noeuds[h] = null;
+				hauteur--;
+				continue;
+			}
+			Noeud enfant = noeuds[h].getNoeudSuivant()[prochain[h]++];
+			int length = base + h + 1;
+			mot[length - 1] = enfant.getLetter();
+			if(enfant.getNombreSuivant() > 0 && (longueur < 0 || length < longueur)) {
+				empiler(enfant, 0, enfant.getNombreSuivant());
+			}
+			if(enfant.isEndWord() && (longueur < 0 || length == longueur)) {
+				action.accept(new String(mot, 0, length));
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Spliterator<String> trySplit() {
+		if(hauteur != 1) {
+			return null;
+		}
+		while(fin[0] - prochain[0] == 1 && !emettreDepart && (longueur < 0 || base < longueur)) {
+			Noeud enfant = noeuds[0].getNoeudSuivant()[prochain[0]];
+			mot[base++] = enfant.getLetter();
+			emettreDepart = enfant.isEndWord() && (longueur < 0 || base == longueur);
+			hauteur = 0;
+			empiler(enfant, 0, enfant.getNombreSuivant());
+		}
+		int restants = fin[0] - prochain[0];
+		if(restants >= 2 || (restants == 1 && emettreDepart)) {
+			int milieu = prochain[0] + restants / 2;
+			SpliterateurMots gauche = new SpliterateurMots(mot, base, noeuds[0], prochain[0], milieu, emettreDepart, longueur);
+			prochain[0] = milieu;
+			emettreDepart = false;
+			return gauche;
+		}
+		return null;
+	}
+
+	@Override
+	public long estimateSize() {
+		long estimation = emettreDepart ? 1 : 0;
+		for(int h = 0; h < hauteur; h++) {
+			Noeud[] enfants = noeuds[h].getNoeudSuivant();
+			for(int i = prochain[h]; i < fin[h]; i++) {
+				estimation += enfants[i].getNombreMots();
+			}
+		}
+		return estimation;
+	}
+
+	@Override
+	public int characteristics() {
+		int characteristics = ORDERED | SORTED | DISTINCT | NONNULL;
+		return longueur < 0 ? characteristics | SIZED | SUBSIZED : characteristics;
+	}
+
+	@Override
+	public Comparator<? super String> getComparator() {
+		return null;
+	}
+
+	/**
+	 * ajoute un noeud en haut de la pile
+	 * @param noeud
+	 * 		noeud dont on va visiter les enfants
+	 * @param debut
+	 * 		premier enfant à visiter
+	 * @param fin
+	 * 		fin des enfants à visiter
+	 */
+	private void empiler(Noeud noeud, int debut, int fin) {
+		if(hauteur == noeuds.length) {
+			noeuds = Arrays.copyOf(noeuds, hauteur * 2);
+			prochain = Arrays.copyOf(prochain, hauteur * 2);
+			this.fin = Arrays.copyOf(this.fin, hauteur * 2);
+		}
+		if(base + hauteur + 1 > mot.length) {
+			mot = Arrays.copyOf(mot, mot.length * 2);
+		}
+		noeuds[hauteur] = noeud;
+		prochain[hauteur] = debut;
+		this.fin[hauteur] = longueur >= 0 && base + hauteur >= longueur ? debut : fin;
+		hauteur++;
+	}
+}
@@ -0,0 +1,120 @@
+package tree;
+
+/**
+ * Table de saut vers les noeuds d'une profondeur fixe de l'arbre. La case
+ * d'un préfix est calculée à partir des codes de ses lettres dans
+ * Alphabet.FRENCH, comme un nombre écrit en base Alphabet.FRENCH.size() ;
+ * elle contient le noeud du préfix, ou null s'il n'existe pas. Une
+ * recherche commence donc directement à cette profondeur au lieu de
+ * descendre depuis la racine.
+ */
+final class TableSaut {
+
+	private static final int BASE = Alphabet.FRENCH.size();
+
+	private final int profondeur;
+	private final Noeud[] noeuds;
+
+	/**
+	 * construit la table des noeuds d'une profondeur
+	 * @param racine
+	 * 		racine de l'arbre
+	 * @param profondeur
+	 * 		nombre de lettres des préfixes indexés
+	 */
+	TableSaut(Noeud racine, int profondeur) {
+		int taille = 1;
+		for(int i = 0; i < profondeur; i++) {
+			taille *= BASE;
+		}
+		this.profondeur = profondeur;
+		this.noeuds = new Noeud[taille];
+		remplir(racine, 0, 0);
+	}
+
+	/**
+	 * retourne le nombre de lettres des préfixes indexés
+	 * @return la profondeur
+	 */
+	int profondeur() {
+		return profondeur;
+	}
+
+	/**
+	 * retourne la case du préfix formé par les premières lettres d'une clé
+	 * @param cle
+	 * 		lettres normalisées, au moins profondeur()
+	 * @return la case, -1 si une de ces lettres n'est pas dans l'alphabet
+	 */
+	int index(char[] cle) {
+		int index = 0;
+		for(int i = 0; i < profondeur; i++) {
+			int code = Alphabet.FRENCH.code(cle[i]);
+			if(code < 0) {
+				return -1;
+			}
+			index = index * BASE + code;
+		}
+		return index;
+	}
+
+	/**
+	 * retourne le noeud d'une case
+	 * @param index
+	 * 		case donnée par index(char[])
+	 * @return le noeud, null si le préfix n'existe pas
+	 */
+	Noeud get(int index) {
+		return noeuds[index];
+	}
+
+	/**
+	 * recalcule la case d'une clé après une insertion ou une suppression
+	 * @param racine
+	 * 		racine de l'arbre
+	 * @param cle
+	 * 		lettres normalisées, au moins profondeur()
+	 */
+	void actualiser(Noeud racine, char[] cle) {
+		int index = index(cle);
+		if(index < 0) {
+			return;
+		}
+		Noeud courant = racine;
+		for(int i = 0; i < profondeur && courant != null; i++) {
+			courant = courant.getNoeudCourant(cle[i]);
+		}
+		noeuds[index] = courant;
+	}
+
+	/**
+	 * retourne la taille estimée de la table
+	 * @return taille en octets, en comptant des références de 4 octets
+	 */
+	long tailleOctets() {
+		return 16 + VecteurBits.tailleTableau(4L * noeuds.length);
+	}
+
+	/**
+	 * range les noeuds de la profondeur sous un noeud, en ne suivant que
+	 * les enfants dont la lettre est dans l'alphabet
+	 * @param actuel
+	 * 		noeud courant
+	 * @param depth
+	 * 		profondeur du noeud courant
+	 * @param index
+	 * 		case partielle du préfix du noeud courant
+	 */
+	private void remplir(Noeud actuel, int depth, int index) {
+		if(depth == profondeur) {
+			noeuds[index] = actuel;
+			return;
+		}
+		for(int code = 0; code < BASE; code++) {
+			Noeud suivant = actuel.getNoeudSymbole(code);
+			if(suivant != null) {
+				remplir(suivant, depth + 1, index * BASE + code);
+			}
+		}
+	}
+}
@@ -0,0 +1,199 @@
+package tree;
+
+import java.util.Arrays;
+
+/**
+ * Snapshot of the shape and memory cost of a LexicographicTree, taken by
+ * LexicographicTree.stats(). The heap estimate assumes a 64-bit JVM with
+ * compressed references (heap under 32 GB), which is the default layout:
+ * 32 bytes per node, and 16 bytes plus 4 bytes per slot, rounded up to 8,
+ * per child array.
+ */
+public final class TreeStats {
+
+	/**
+	 * taille d'un Noeud : en-tête de 12 octets, letter, endWord, occupation,
+	 * noeudSuivant, nombreSuivant et nombreMots, arrondie à 8
+	 */
+	static final int TAILLE_NOEUD = 32;
+
+	/**
+	 * en-tête d'un tableau : marque, classe et longueur
+	 */
+	static final int ENTETE_TABLEAU = 16;
+
+	/**
+	 * taille d'une référence compressée
+	 */
+	static final int TAILLE_REFERENCE = 4;
+
+	private final long nodeCount;
+	private final long endWordCount;
+	private final long[] fanOut;
+	private final long[] depth;
+	private final long childSlots;
+	private final long usedChildSlots;
+	private final long estimatedHeapBytes;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * parcourt l'arbre une fois, en largeur, pour relever ses mesures
+	 * @param racine
+	 * 		racine de l'arbre à mesurer
+	 */
+	TreeStats(Noeud racine) {
+		long noeuds = 0, finsMot = 0, cases = 0, casesOccupees = 0, octets = 0;
+		long[] parEnfants = new long[8];
+		long[] parProfondeur = new long[16];
+		/*
+		 * file des noeuds d'un niveau ; le parcours en largeur évite la
+		 * récursion sur les mots très longs et donne la profondeur par niveau
+		 */
+		Noeud[] niveau = new Noeud[] {racine};
+		int taille = 1;
+		int profondeur = 0;
+		while(taille > 0) {
+			if(profondeur == parProfondeur.length) {
+				parProfondeur = Arrays.copyOf(parProfondeur, profondeur * 2);
+			}
+			parProfondeur[profondeur] = taille;
+			int tailleSuivant = 0;
+			for(int i = 0; i < taille; i++) {
+				Noeud noeud = niveau[i];
+				int enfants = noeud.getNombreSuivant();
+				Noeud[] suivants = noeud.getNoeudSuivant();
+				noeuds++;
+				octets += TAILLE_NOEUD;
+				if(noeud.isEndWord()) {
+					finsMot++;
+				}
+				if(enfants >= parEnfants.length) {
+					parEnfants = Arrays.copyOf(parEnfants, Math.max(enfants + 1, parEnfants.length * 2));
+				}
+				parEnfants[enfants]++;
+				if(suivants != null) {
+					cases += suivants.length;
+					octets += tailleTableau(suivants.length);
+				}
+				casesOccupees += enfants;
+				tailleSuivant += enfants;
+			}
+			Noeud[] suivant = new Noeud[tailleSuivant];
+			int n = 0;
+			for(int i = 0; i < taille; i++) {
+				int enfants = niveau[i].getNombreSuivant();
+				if(enfants > 0) {
+					System.arraycopy(niveau[i].getNoeudSuivant(), 0, suivant, n, enfants);
+					n += enfants;
+				}
+			}
+			niveau = suivant;
+			taille = tailleSuivant;
+			profondeur++;
+		}
+		int maxEnfants = parEnfants.length - 1;
+		while(maxEnfants > 0 && parEnfants[maxEnfants] == 0) {
+			maxEnfants--;
+		}
+		this.nodeCount = noeuds;
+		this.endWordCount = finsMot;
+		this.fanOut = Arrays.copyOf(parEnfants, maxEnfants + 1);
+		this.depth = Arrays.copyOf(parProfondeur, profondeur);
+		this.childSlots = cases;
+		this.usedChildSlots = casesOccupees;
+		this.estimatedHeapBytes = octets;
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Returns the number of nodes, the root included.
+	 * @return The number of nodes
+	 */
+	public long nodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Returns the number of nodes that end a word. It is the number of words
+	 * of the tree.
+	 * @return The number of end-of-word nodes
+	 */
+	public long endWordCount() {
+		return endWordCount;
+	}
+
+	/**
+	 * Returns the fan-out histogram: the element i is the number of nodes
+	 * having i children. The last element is the largest fan-out.
+	 * @return A new array holding the histogram
+	 */
+	public long[] fanOutHistogram() {
+		return fanOut.clone();
+	}
+
+	/**
+	 * Returns the depth histogram: the element i is the number of nodes at
+	 * depth i, which are the prefixes of i letters. The length of the
+	 * array is the height of the tree plus one.
+	 * @return A new array holding the histogram
+	 */
+	public long[] depthHistogram() {
+		return depth.clone();
+	}
+
+	/**
+	 * Returns the total length of the child arrays, empty slots included.
+	 * @return The number of allocated child slots
+	 */
+	public long childSlots() {
+		return childSlots;
+	}
+
+	/**
+	 * Returns the number of child slots holding a node. It is nodeCount() - 1.
+	 * @return The number of child slots in use
+	 */
+	public long usedChildSlots() {
+		return usedChildSlots;
+	}
+
+	/**
+	 * Returns the estimated heap retained by the nodes and their child
+	 * arrays, in bytes.
+	 * @return The estimated retained heap in bytes
+	 */
+	public long estimatedHeapBytes() {
+		return estimatedHeapBytes;
+	}
+
+	/**
+	 * Returns the measures on one line, for logs and metrics.
+	 * @return A textual representation of the measures
+	 */
+	@Override
+	public String toString() {
+		return "nodes=" + nodeCount + " endWords=" + endWordCount + " childSlots=" + usedChildSlots + "/" + childSlots
+				+ " estimatedHeapBytes=" + estimatedHeapBytes + " fanOut=" + Arrays.toString(fanOut)
+				+ " depth=" + Arrays.toString(depth);
+	}
+
+	/*
+	 * PACKAGE METHODS
+	 */
+
+	/**
+	 * retourne la taille estimée d'un tableau de références
+	 * @param longueur
+	 * 		nombre de cases du tableau
+	 * @return taille en octets, arrondie à 8
+	 */
+	static long tailleTableau(int longueur) {
+		return (ENTETE_TABLEAU + (long) TAILLE_REFERENCE * longueur + 7) & ~7L;
+	}
+}
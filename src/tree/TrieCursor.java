@@ -0,0 +1,60 @@
+package tree;
+
+/**
+ * Position in a dictionary that can be moved one letter at a time.
+ * A cursor starts at the empty prefix; push and pop extend or shorten the
+ * current prefix in constant time without allocating, so a search that
+ * walks prefixes letter by letter does not restart from the root nor build
+ * intermediate strings. A cursor is not thread-safe.
+ */
+public interface TrieCursor {
+
+	/**
+	 * Extends the current prefix with a letter, folded like the letters of
+	 * the dictionary words (diacritics removed, upper case).
+	 * The cursor does not move if no word starts with the extended prefix.
+	 * @param letter A letter
+	 * @return True if the extended prefix is present, false otherwise
+	 */
+	boolean push(char letter);
+
+	/**
+	 * Extends the current prefix with a symbol of Alphabet.FRENCH given by its
+	 * code, like push(Alphabet.FRENCH.symbol(code)) but without folding the 
+	 * letter again.
+	 * @param code A code of Alphabet.FRENCH
+	 * @return True if the extended prefix is present, false otherwise
+	 */
+	default boolean pushSymbol(int code) {
+		return push(Alphabet.FRENCH.symbol(code));
+	}
+
+	/**
+	 * Removes the last letter of the current prefix.
+	 * @throws IllegalStateException If the current prefix is empty
+	 */
+	void pop();
+
+	/**
+	 * Determines if the current prefix is a word of the dictionary.
+	 * @return True if the current prefix is a word, false otherwise
+	 */
+	boolean isWord();
+
+	/**
+	 * Determines if a longer word starts with the current prefix.
+	 * @return True if the current prefix can be extended, false otherwise
+	 */
+	boolean hasChildren();
+
+	/**
+	 * Returns the number of letters of the current prefix.
+	 * @return The length of the current prefix
+	 */
+	int depth();
+
+	/**
+	 * Moves the cursor back to the empty prefix.
+	 */
+	void reset();
+}
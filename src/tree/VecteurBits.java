@@ -0,0 +1,165 @@
+package tree;
+
+/**
+ * Vecteur de bits en lecture seule avec rang et sélection des zéros en
+ * temps quasi constant. Les bits sont rangés par mots de 64 bits, du bit
+ * de poids faible au bit de poids fort. Le répertoire des rangs compte les
+ * zéros avant chaque bloc de 512 bits, et l'échantillon de sélection
+ * donne le bloc de chaque 512e zéro : leur surcoût est d'environ 12 % des
+ * bits du vecteur.
+ */
+final class VecteurBits {
+
+	/**
+	 * nombre de mots de 64 bits par bloc du répertoire des rangs
+	 */
+	private static final int MOTS_PAR_BLOC = 8;
+
+	/**
+	 * log2 du nombre de zéros entre deux échantillons de sélection
+	 */
+	private static final int PAS_ECHANTILLON = 9;
+
+	private final long[] mots;
+	private final int longueur;
+	private final int[] rangs;
+	private final int[] echantillons;
+
+	/**
+	 * construit le répertoire des rangs et l'échantillon de sélection
+	 * @param mots
+	 * 		bits du vecteur, non copiés ; les bits au-delà de la longueur
+	 * 		doivent être à 0
+	 * @param longueur
+	 * 		nombre de bits du vecteur
+	 */
+	VecteurBits(long[] mots, int longueur) {
+		this.mots = mots;
+		this.longueur = longueur;
+		int blocs = (mots.length + MOTS_PAR_BLOC - 1) / MOTS_PAR_BLOC;
+		this.rangs = new int[blocs + 1];
+		int zeros = 0;
+		for(int b = 0; b < blocs; b++) {
+			rangs[b] = zeros;
+			for(int w = b * MOTS_PAR_BLOC; w < Math.min(mots.length, (b + 1) * MOTS_PAR_BLOC); w++) {
+				zeros += Long.bitCount(~mots[w]);
+			}
+		}
+		rangs[blocs] = zeros;
+		// les bits de remplissage du dernier mot sont des zéros qui ne comptent pas
+		int total = longueur - rang1(longueur);
+		this.echantillons = new int[(total >>> PAS_ECHANTILLON) + 1];
+		int b = 0;
+		for(int e = 0; e < echantillons.length; e++) {
+			while(rangs[b + 1] <= e << PAS_ECHANTILLON) {
+				b++;
+			}
+			echantillons[e] = b;
+		}
+	}
+
+	/**
+	 * retourne un bit
+	 * @param position
+	 * 		position du bit
+	 * @return true si le bit vaut 1
+	 */
+	boolean get(int position) {
+		return (mots[position >>> 6] >>> position & 1) != 0;
+	}
+
+	/**
+	 * retourne le nombre de bits
+	 * @return le nombre de bits
+	 */
+	int longueur() {
+		return longueur;
+	}
+
+	/**
+	 * retourne le nombre de uns avant une position
+	 * @param position
+	 * 		position entre 0 et longueur()
+	 * @return nombre de uns dans [0, position)
+	 */
+	int rang1(int position) {
+		int w = position >>> 6;
+		int bloc = w / MOTS_PAR_BLOC;
+		int uns = bloc * MOTS_PAR_BLOC * 64 - rangs[bloc];
+		for(int i = bloc * MOTS_PAR_BLOC; i < w; i++) {
+			uns += Long.bitCount(mots[i]);
+		}
+		if((position & 63) != 0) {
+			uns += Long.bitCount(mots[w] << -position);
+		}
+		return uns;
+	}
+
+	/**
+	 * retourne la position d'un zéro
+	 * @param k
+	 * 		rang du zéro, à partir de 0
+	 * @return position du k-ième zéro
+	 */
+	int selection0(int k) {
+		int b = echantillons[k >>> PAS_ECHANTILLON];
+		while(rangs[b + 1] <= k) {
+			b++;
+		}
+		int reste = k - rangs[b];
+		for(int w = b * MOTS_PAR_BLOC; ; w++) {
+			long inverse = ~mots[w];
+			int zeros = Long.bitCount(inverse);
+			if(reste < zeros) {
+				for(; reste > 0; reste--) {
+					inverse &= inverse - 1;
+				}
+				return (w << 6) + Long.numberOfTrailingZeros(inverse);
+			}
+			reste -= zeros;
+		}
+	}
+
+	/**
+	 * retourne le nombre de uns consécutifs à partir d'une position
+	 * @param position
+	 * 		position du premier bit
+	 * @return longueur de la suite de uns, 0 si le bit est un zéro
+	 */
+	int suiteUns(int position) {
+		int uns = 0;
+		int w = position >>> 6;
+		long bits = mots[w] >>> position;
+		int disponibles = 64 - (position & 63);
+		while(true) {
+			int suite = Long.numberOfTrailingZeros(~bits);
+			if(suite < disponibles) {
+				return uns + suite;
+			}
+			uns += disponibles;
+			if(++w == mots.length) {
+				return uns;
+			}
+			bits = mots[w];
+			disponibles = 64;
+		}
+	}
+
+	/**
+	 * retourne la taille estimée du vecteur et de ses index
+	 * @return taille en octets
+	 */
+	long tailleOctets() {
+		return 32 + tailleTableau(8L * mots.length) + tailleTableau(4L * rangs.length) + tailleTableau(4L * echantillons.length);
+	}
+	
+	/**
+	 * retourne la taille estimée d'un tableau de types primitifs
+	 * @param octets
+	 * 		taille des éléments du tableau
+	 * @return taille en octets, en-tête compris et arrondie à 8
+	 */
+	static long tailleTableau(long octets) {
+		return (16 + octets + 7) & ~7L;
+	}
+}
@@ -0,0 +1,238 @@
+package tree;
+
+import java.util.Arrays;
+
+/**
+ * Compiled pattern matched against the words of a dictionary.
+ * A pattern is a sequence of positions, each one accepting either one
+ * letter out of a set or, for '*', any number of letters. Letters are
+ * folded like the letters of the dictionary words (diacritics removed,
+ * upper case).
+ */
+public final class WordPattern {
+
+	/**
+	 * nombre maximal de positions, un état par position plus l'état final
+	 * doivent tenir dans un long
+	 */
+	private static final int MAX_POSITIONS = Long.SIZE - 1;
+
+	/*
+	 * position i : etoiles bit i si '*', sinon la position accepte les
+	 * symboles dont le bit i est dans parSymbole[indexSymbole(lettre)], et
+	 * les autres lettres selon autres[i] (null : toutes les autres lettres)
+	 * inverse par inverses[i]
+	 */
+	private final int nombrePositions;
+	private final long etoiles;
+	private final long[] parSymbole = new long[Noeud.SYMBOLES.length()];
+	private final String[] autres;
+	private final long inverses;
+	private final long depart;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * constructeur d'un motif déjà découpé en positions
+	 * @param ensembles
+	 * 		lettres normalisées acceptées par chaque position, null pour
+	 * 		toutes les lettres ou pour '*'
+	 * @param etoiles
+	 * 		bit i si la position i est une étoile
+	 * @param inverses
+	 * 		bit i si la position i accepte les lettres hors de son ensemble
+	 */
+	private WordPattern(String[] ensembles, long etoiles, long inverses) {
+		this.nombrePositions = ensembles.length;
+		this.etoiles = etoiles;
+		this.inverses = inverses;
+		this.autres = new String[nombrePositions];
+		for(int i = 0; i < nombrePositions; i++) {
+			if((etoiles & 1L << i) != 0) {
+				continue;
+			}
+			boolean inverse = (inverses & 1L << i) != 0;
+			StringBuilder autres = ensembles[i] == null ? null : new StringBuilder();
+			for(int s = 0; s < parSymbole.length; s++) {
+				boolean present = ensembles[i] == null || ensembles[i].indexOf(Noeud.SYMBOLES.charAt(s)) >= 0;
+				if(present != inverse) {
+					parSymbole[s] |= 1L << i;
+				}
+			}
+			if(autres != null) {
+				for(int c = 0; c < ensembles[i].length(); c++) {
+					char letter = ensembles[i].charAt(c);
+					if(Noeud.indexSymbole(letter) < 0) {
+						autres.append(letter);
+					}
+				}
+				this.autres[i] = autres.toString();
+			}
+		}
+		this.depart = fermer(1L);
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Compiles a glob pattern.
+	 * '?' matches any single letter, '*' matches any sequence of letters,
+	 * possibly empty, '[ABC]' matches one of the listed letters and '[^ABC]'
+	 * one letter that is not listed. Any other character matches itself.
+	 * @param glob A glob pattern, such as "B?T*" or "[BC]A??"
+	 * @return The compiled pattern
+	 * @throws IllegalArgumentException If the pattern is null, has an unclosed
+	 * or empty set, or has more than 63 positions
+	 */
+	public static WordPattern compile(String glob) {
+		if(glob == null)
+			throw new IllegalArgumentException("Null pattern");
+		String[] ensembles = new String[glob.length()];
+		long etoiles = 0;
+		long inverses = 0;
+		int n = 0;
+		for(int i = 0; i < glob.length(); i++) {
+			if(n == MAX_POSITIONS)
+				throw new IllegalArgumentException("Pattern too long : " + glob);
+			char c = glob.charAt(i);
+			if(c == '*') {
+				if(n > 0 && (etoiles & 1L << (n - 1)) != 0) {
+					continue; // '**' équivaut à '*'
+				}
+				etoiles |= 1L << n;
+			}else if(c == '[') {
+				int fin = glob.indexOf(']', i + 1);
+				int debut = i + 1;
+				if(fin >= 0 && glob.charAt(debut) == '^') {
+					inverses |= 1L << n;
+					debut++;
+				}
+				if(fin < 0 || fin == debut)
+					throw new IllegalArgumentException("Bad letter set in pattern : " + glob);
+				ensembles[n] = LexicographicTree.normaliserWord(glob.substring(debut, fin));
+				i = fin;
+			}else if(c != '?') {
+				ensembles[n] = String.valueOf(LexicographicTree.normaliserLettre(c));
+			}
+			n++;
+		}
+		return new WordPattern(Arrays.copyOf(ensembles, n), etoiles, inverses);
+	}
+
+	/**
+	 * Creates a fixed-length pattern from the letters allowed at each position.
+	 * This expresses a partially known word, such as a cryptogram word whose
+	 * decoding is known for some letters and restricted for the others.
+	 * @param allowed The letters allowed at each position, null or empty for any letter
+	 * @return The compiled pattern, matching words of length allowed.length
+	 * @throws IllegalArgumentException If allowed is null or has more than 63 positions
+	 */
+	public static WordPattern ofPositions(String... allowed) {
+		if(allowed == null || allowed.length > MAX_POSITIONS)
+			throw new IllegalArgumentException();
+		String[] ensembles = new String[allowed.length];
+		for(int i = 0; i < allowed.length; i++) {
+			if(allowed[i] != null && !allowed[i].isEmpty()) {
+				ensembles[i] = LexicographicTree.normaliserWord(allowed[i]);
+			}
+		}
+		return new WordPattern(ensembles, 0, 0);
+	}
+
+	/**
+	 * Determines if a word matches the pattern.
+	 * @param word A word
+	 * @return True if the folded word matches the pattern, false otherwise
+	 */
+	public boolean matches(String word) {
+		if(word == null)
+			return false;
+		long etats = depart;
+		for(int i = 0; i < word.length() && etats != 0; i++) {
+			etats = avancer(etats, LexicographicTree.normaliserLettre(word.charAt(i)));
+		}
+		return accepte(etats);
+	}
+
+	/*
+	 * PACKAGE METHODS
+	 */
+
+	/**
+	 * retourne les états de l'automate avant la première lettre
+	 * @return ensemble des positions atteintes, bit i pour la position i
+	 */
+	long depart() {
+		return depart;
+	}
+
+	/**
+	 * fait avancer toutes les positions atteintes d'une lettre
+	 * @param etats
+	 * 		positions atteintes
+	 * @param letter
+	 * 		lettre normalisée lue
+	 * @return positions atteintes après la lettre, 0 si aucune
+	 */
+	long avancer(long etats, char letter) {
+		int index = Noeud.indexSymbole(letter);
+		long acceptent = index >= 0 ? parSymbole[index] : autres(etats & ~etoiles, letter);
+		return fermer((etats & ~etoiles & acceptent) << 1 | etats & etoiles);
+	}
+
+	/**
+	 * retourne true si les positions atteintes contiennent la fin du motif
+	 * @param etats
+	 * 		positions atteintes
+	 * @return true si le mot lu correspond au motif
+	 */
+	boolean accepte(long etats) {
+		return (etats & 1L << nombrePositions) != 0;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * ajoute les positions qui suivent une étoile atteinte, une étoile
+	 * pouvant ne rien lire
+	 * @param etats
+	 * 		positions atteintes
+	 * @return positions atteintes en sautant les étoiles
+	 */
+	private long fermer(long etats) {
+		long suivant = etats | (etats & etoiles) << 1;
+		while(suivant != etats) {
+			etats = suivant;
+			suivant = etats | (etats & etoiles) << 1;
+		}
+		return etats;
+	}
+
+	/**
+	 * calcule les positions qui acceptent une lettre hors de Noeud.SYMBOLES
+	 * @param positions
+	 * 		positions à tester
+	 * @param letter
+	 * 		lettre normalisée
+	 * @return positions qui acceptent la lettre
+	 */
+	private long autres(long positions, char letter) {
+		long acceptent = 0;
+		for(int i = 0; i < nombrePositions; i++) {
+			if((positions & 1L << i) == 0) {
+				continue;
+			}
+			boolean present = autres[i] == null || autres[i].indexOf(letter) >= 0;
+			if(present != ((inverses & 1L << i) != 0)) {
+				acceptent |= 1L << i;
+			}
+		}
+		return acceptent;
+	}
+}
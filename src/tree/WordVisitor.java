@@ -0,0 +1,41 @@
+package tree;
+
+/**
+ * Callback receiving the words of a dictionary in alphabetic order.
+ * The letters are passed in a buffer that is reused for every call and
+ * is only valid during the call: a visitor that keeps a word must copy
+ * it, for example with new String(word, 0, length).
+ */
+public interface WordVisitor {
+
+	/**
+	 * What the traversal does after a call to the visitor.
+	 */
+	enum Result {
+		/** Continue with the next prefix or word. */
+		CONTINUE,
+		/** Skip the words that extend the current prefix or word. */
+		SKIP_SUBTREE,
+		/** Stop the traversal. */
+		TERMINATE
+	}
+
+	/**
+	 * Called when the traversal enters a non-empty prefix, before the prefix
+	 * itself if it is a word and before the words that extend it.
+	 * @param prefix Buffer holding the prefix in its first length letters
+	 * @param length Number of letters of the prefix
+	 * @return SKIP_SUBTREE to skip the prefix and all the words starting with it
+	 */
+	default Result preVisitPrefix(char[] prefix, int length) {
+		return Result.CONTINUE;
+	}
+
+	/**
+	 * Called for each word.
+	 * @param word Buffer holding the word in its first length letters
+	 * @param length Number of letters of the word
+	 * @return SKIP_SUBTREE to skip the longer words starting with this word
+	 */
+	Result visitWord(char[] word, int length);
+}
@@ -3,6 +3,7 @@ package boggle;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import tree.DictionaryHandle;
 import tree.LexicographicTree;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +27,17 @@ public class BoggleTest {
 		System.out.println(" done.");
 	}
 	
+	@Test
+	void solveUsesCurrentDictionary() {
+		LexicographicTree small = new LexicographicTree();
+		small.insertWord("SONGE");
+		DictionaryHandle handle = DictionaryHandle.of(small);
+		Boggle b = new Boggle(4, GRID_LETTERS, handle);
+		assertEquals(Set.of("SONGE"), b.solve());
+		handle.reload("mots/dictionnaire_FR_avec_accents.txt").join();
+		assertEquals(EXPECTED_WORDS, b.solve());
+	}
+	
 	@Test
 	void wikipediaExample() {
 		Boggle b = new Boggle(4, GRID_LETTERS, dictionary);
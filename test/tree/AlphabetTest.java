@@ -0,0 +1,57 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlphabetTest {
+
+	@Test
+	void french_Fold() {
+		assertEquals('E', Alphabet.FRENCH.fold('é'));
+		assertEquals('C', Alphabet.FRENCH.fold('ç'));
+		assertEquals('A', Alphabet.FRENCH.fold('a'));
+		assertEquals('-', Alphabet.FRENCH.fold('-'));
+		// 'É' n'a pas de lettre de base, il est seulement mis en majuscule
+		assertEquals('É', Alphabet.FRENCH.fold('É'));
+		for (char c = 0; c < 0x300; c++) {
+			assertEquals(LexicographicTree.normaliserLettre(c), Alphabet.FRENCH.fold(c));
+		}
+	}
+
+	@Test
+	void french_Codes() {
+		assertEquals(28, Alphabet.FRENCH.size());
+		assertEquals(0, Alphabet.FRENCH.code('\''));
+		assertEquals(1, Alphabet.FRENCH.code('-'));
+		assertEquals(2, Alphabet.FRENCH.code('A'));
+		assertEquals(-1, Alphabet.FRENCH.code('a'));
+		assertEquals(-1, Alphabet.FRENCH.code('É'));
+		assertEquals('Z', Alphabet.FRENCH.symbol(27));
+		assertArrayEquals(new int[] {6, 21, 6, -1}, Alphabet.FRENCH.encode("été1"));
+	}
+
+	@Test
+	void latin_Codes() {
+		assertEquals(26, Alphabet.LATIN.size());
+		assertEquals(0, Alphabet.LATIN.encode('a'));
+		assertEquals(25, Alphabet.LATIN.code('Z'));
+		assertEquals(-1, Alphabet.LATIN.encode('é'));
+		assertEquals(-1, Alphabet.LATIN.code('-'));
+	}
+
+	@Test
+	void custom_Alphabet() {
+		Alphabet german = new Alphabet("ABCDEFGHIJKLMNOPQRSTUVWXYZÄÖÜ", "äöüß", "ÄÖÜS");
+		assertEquals(26, german.encode('ä'));
+		assertEquals(28, german.encode('Ü'));
+		assertEquals(18, german.encode('ß'));
+		assertEquals(-1, german.encode('é'));
+	}
+
+	@Test
+	void constructor_Invalid() {
+		assertThrows(IllegalArgumentException.class, () -> new Alphabet(null, "", ""));
+		assertThrows(IllegalArgumentException.class, () -> new Alphabet("ABA", "", ""));
+		assertThrows(IllegalArgumentException.class, () -> new Alphabet("AB", "é", ""));
+	}
+}
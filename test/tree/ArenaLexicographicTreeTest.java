@@ -0,0 +1,68 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ArenaLexicographicTreeTest extends LexiconTest<ArenaLexicographicTree> {
+
+	@Override
+	ArenaLexicographicTree creer(String... words) {
+		ArenaLexicographicTree dict = new ArenaLexicographicTree();
+		for (String word : words) {
+			dict.insertWord(word);
+		}
+		return dict;
+	}
+
+	@Test
+	void visitWords_SkipAndTerminate() {
+		List<String> visited = new ArrayList<>();
+		creer(WORDS).visitWords("", new WordVisitor() {
+			@Override
+			public Result preVisitPrefix(char[] prefix, int length) {
+				return prefix[0] == 'A' && length == 2 && prefix[1] == 'U' ? Result.SKIP_SUBTREE : Result.CONTINUE;
+			}
+
+			@Override
+			public Result visitWord(char[] word, int length) {
+				visited.add(new String(word, 0, length));
+				return length == 3 && word[0] == 'B' ? Result.TERMINATE : Result.CONTINUE;
+			}
+		});
+		assertEquals(List.of("AIDE", "AS", "BU", "BUS"), visited);
+	}
+
+	@Test
+	void removeWord_ReusesHandles() {
+		ArenaLexicographicTree dict = new ArenaLexicographicTree();
+		dict.insertWord("aide");
+		dict.insertWord("aides");
+		assertEquals(6, dict.nodeCount());
+		assertFalse(dict.removeWord("AID"));
+		assertTrue(dict.removeWord("AIDE"));
+		assertFalse(dict.removeWord("AIDE"));
+		assertEquals(6, dict.nodeCount());
+		assertTrue(dict.removeWord("aides"));
+		assertEquals(1, dict.nodeCount());
+		assertEquals(0, dict.size());
+		assertFalse(dict.containsPrefix("A"));
+		dict.insertWord("bus");
+		assertEquals(4, dict.nodeCount());
+		assertEquals(List.of("BUS"), dict.getWords(""));
+	}
+
+	@Test
+	void fileConstructor_SameAsTree() {
+		LexicographicTree tree = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		ArenaLexicographicTree dict = new ArenaLexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		assertEquals(tree.size(), dict.size());
+		assertEquals(tree.stats().nodeCount(), dict.nodeCount());
+		assertEquals(tree.getWords(""), dict.getWords(""));
+		assertEquals(tree.getWords("RALENT"), dict.getWords("RALENT"));
+		assertEquals(tree.getWordsOfLength(9), dict.getWordsOfLength(9));
+		assertTrue(dict.estimatedHeapBytes() < tree.stats().estimatedHeapBytes());
+	}
+}
@@ -0,0 +1,68 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+public class CapacityHarnessTest {
+
+	@Test
+	void counter_SameAsBinaryNumbers() {
+		CapacityHarness harness = CapacityHarness.counter("AM");
+		String[] expected = new String[] {"A", "M", "MA", "MM", "MAA", "MAM"};
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], harness.genererMot(i, null));
+		}
+	}
+
+	@Test
+	void random_LengthsAndLetters() {
+		CapacityHarness harness = new CapacityHarness("ABC", "2:1,5:3", 7);
+		Random random = new Random(7);
+		int[] counts = new int[6];
+		for (int i = 0; i < 4000; i++) {
+			String word = harness.genererMot(i, random);
+			assertTrue(word.matches("[ABC]*"), word);
+			counts[word.length()]++;
+		}
+		assertEquals(4000, counts[2] + counts[5]);
+		assertTrue(counts[5] > 2 * counts[2]);
+		assertEquals(3, new CapacityHarness("ABC", "3", 0).genererMot(0, new Random()).length());
+	}
+
+	@Test
+	void run_Bounded() {
+		CapacityHarness harness = new CapacityHarness(CapacityHarness.DEFAULT_ALPHABET, "4-8", 1);
+		List<CapacityHarness.Sample> samples = harness.run(Runtime.getRuntime().maxMemory() / 2, 1000, 5000);
+		assertEquals(5, samples.size());
+		for (int i = 1; i < samples.size(); i++) {
+			assertTrue(samples.get(i).words() > samples.get(i - 1).words());
+			assertTrue(samples.get(i).nodes() > samples.get(i).words());
+			assertTrue(samples.get(i).estimatedHeapBytes() > samples.get(i - 1).estimatedHeapBytes());
+		}
+		String csv = CapacityHarness.toCsv(samples);
+		assertTrue(csv.startsWith("words,nodes,heapBytes,"));
+		assertEquals(6, csv.split("\n").length);
+		assertTrue(harness.toJson(samples).contains("\"lengths\": \"4-8\""));
+	}
+
+	@Test
+	void run_StopsWhenStreamExhausted() {
+		// 3 + 9 mots possibles
+		List<CapacityHarness.Sample> samples = new CapacityHarness("ABC", "1-2", 0).run(Runtime.getRuntime().maxMemory() / 2, 1000, 100_000);
+		assertEquals(12, samples.get(samples.size() - 1).words());
+		assertTrue(samples.size() < 100);
+	}
+
+	@Test
+	void constructor_Invalid() {
+		assertThrows(IllegalArgumentException.class, () -> new CapacityHarness("AB1", "3-5", 0));
+		assertThrows(IllegalArgumentException.class, () -> new CapacityHarness("", "3-5", 0));
+		assertThrows(IllegalArgumentException.class, () -> new CapacityHarness("AB", "0-5", 0));
+		assertThrows(IllegalArgumentException.class, () -> new CapacityHarness("AB", "x", 0));
+		assertThrows(IllegalArgumentException.class, () -> CapacityHarness.counter("A"));
+		assertThrows(IllegalArgumentException.class, () -> new CapacityHarness("AB", "3-5", 0).run(Long.MAX_VALUE, 10, 10));
+	}
+}
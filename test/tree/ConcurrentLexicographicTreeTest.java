@@ -0,0 +1,119 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class ConcurrentLexicographicTreeTest extends LexiconTest<ConcurrentLexicographicTree> {
+	private static final int WRITERS = 4;
+	private static final int READERS = 4;
+
+	@Override
+	ConcurrentLexicographicTree creer(String... words) {
+		ConcurrentLexicographicTree dict = new ConcurrentLexicographicTree();
+		for (String word : words) {
+			dict.insertWord(word);
+		}
+		return dict;
+	}
+
+	@Test
+	void insertWord_Duplicates() {
+		ConcurrentLexicographicTree dict = new ConcurrentLexicographicTree();
+		dict.insertWord("Été");
+		dict.insertWord("ete");
+		dict.insertWord("   ");
+		dict.insertWord(null);
+		assertEquals(1, dict.size());
+	}
+
+	@Test
+	void fileConstructorSameAsTree() {
+		LexicographicTree tree = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		ConcurrentLexicographicTree dict = new ConcurrentLexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		assertEquals(tree.size(), dict.size());
+		assertEquals(tree.getWords(""), dict.getWords(""));
+	}
+
+	@Test
+	void stress_InsertWhileReading() throws InterruptedException {
+		List<String> words = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt").getWords("").subList(0, 40000);
+		ConcurrentLexicographicTree dict = new ConcurrentLexicographicTree();
+		// inserted[i] passe à 1 quand un insertWord de words[i] est terminé
+		AtomicIntegerArray inserted = new AtomicIntegerArray(words.size());
+		AtomicBoolean writing = new AtomicBoolean(true);
+		ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+
+		// every writer inserts every word, in its own order
+		List<Thread> writers = new ArrayList<>();
+		for (int w = 0; w < WRITERS; w++) {
+			List<Integer> order = new ArrayList<>();
+			for (int i = 0; i < words.size(); i++) {
+				order.add(i);
+			}
+			Collections.shuffle(order, new Random(w));
+			writers.add(new Thread(() -> {
+				await(start);
+				for (int i : order) {
+					dict.insertWord(words.get(i));
+					inserted.set(i, 1);
+				}
+			}));
+		}
+		for (int r = 0; r < READERS; r++) {
+			Random random = new Random(100 + r);
+			threads.add(new Thread(() -> {
+				await(start);
+				while (writing.get()) {
+					int i = random.nextInt(words.size());
+					String word = words.get(i);
+					boolean done = inserted.get(i) == 1;
+					boolean found = dict.containsWord(word);
+					if (done && !found) {
+						errors.add("Inserted word not found : " + word);
+					}
+					if (dict.containsWord(word + "XQ")) {
+						errors.add("Word never inserted found : " + word + "XQ");
+					}
+					if (found && !dict.containsPrefix(word.substring(0, word.length() / 2))) {
+						errors.add("Prefix of a found word missing : " + word);
+					}
+				}
+			}));
+		}
+		threads.addAll(writers);
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		start.countDown();
+		for (Thread writer : writers) {
+			writer.join();
+		}
+		writing.set(false);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertTrue(errors.isEmpty(), () -> errors.peek());
+		assertEquals(words.size(), dict.size());
+		assertEquals(words, dict.getWords(""));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
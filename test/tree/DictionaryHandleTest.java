@@ -0,0 +1,70 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.io.TempDir;
+
+public class DictionaryHandleTest {
+
+	@Test
+	void of_Null() {
+		assertThrows(IllegalArgumentException.class, () -> DictionaryHandle.of(null));
+	}
+
+	@Test
+	void reload_SwapsSnapshot(@TempDir Path dossier) throws IOException, InterruptedException, ExecutionException {
+		Path file = dossier.resolve("mots.txt");
+		Files.writeString(file, "chat\nchien\n");
+		DictionaryHandle handle = DictionaryHandle.load(file.toString());
+		Lexicon before = handle.current();
+		assertTrue(before.containsWord("CHAT"));
+
+		Files.writeString(file, "chat\nchien\ncheval\n");
+		Duration duration = handle.reload(file.toString()).get();
+		assertFalse(duration.isNegative());
+		Lexicon after = handle.current();
+		assertNotSame(before, after);
+		assertEquals(3, after.size());
+		// l'ancienne version reste utilisable telle quelle
+		assertEquals(2, before.size());
+		assertFalse(before.containsWord("CHEVAL"));
+	}
+
+	@Test
+	void reload_BadFileKeepsSnapshot() {
+		LexicographicTree dict = new LexicographicTree();
+		dict.insertWord("CHAT");
+		DictionaryHandle handle = DictionaryHandle.of(dict);
+		CompletableFuture<Duration> reload = handle.reload("nope");
+		assertThrows(ExecutionException.class, () -> reload.get());
+		assertSame(dict, handle.current());
+	}
+
+	@Test
+	void reload_LastStartedWins(@TempDir Path dossier) throws IOException, InterruptedException, ExecutionException {
+		Path first = dossier.resolve("first.txt");
+		Path second = dossier.resolve("second.txt");
+		Files.writeString(first, "un\n");
+		Files.writeString(second, "deux\n");
+		DictionaryHandle handle = DictionaryHandle.of(new LexicographicTree());
+		List<Runnable> delayed = new ArrayList<>();
+
+		CompletableFuture<Duration> slow = handle.reload(first.toString(), delayed::add);
+		handle.reload(second.toString(), Runnable::run).get();
+		assertTrue(handle.current().containsWord("DEUX"));
+		delayed.forEach(Runnable::run);
+		slow.get();
+		assertTrue(handle.current().containsWord("DEUX"));
+		assertFalse(handle.current().containsWord("UN"));
+	}
+}
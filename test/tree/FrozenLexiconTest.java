@@ -0,0 +1,108 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeAll;
+
+public class FrozenLexiconTest {
+	private static final String[] WORDS = new String[] {"BUT", "ET", "été", "aide", "AS", "Au", "AuX",
+			"BU", "bus"};
+	private static final String[] EXPECTED_WORDS = new String[] {"AIDE", "AS", "AU", "AUX",
+			"BU", "BUS", "BUT", "ET", "ETE"};
+	private static final LexicographicTree DICT = new LexicographicTree();
+	private static FrozenLexicon frozen;
+
+	@BeforeAll
+	static void initTestDictionary() {
+		for (int i=0; i<WORDS.length; i++) {
+			DICT.insertWord(WORDS[i]);
+		}
+		frozen = DICT.freeze();
+	}
+
+	@Test
+	void size_SameAsTree() {
+		assertEquals(DICT.size(), frozen.size());
+	}
+
+	@Test
+	void containsWord_General() {
+		for (String word : EXPECTED_WORDS) {
+			assertTrue(frozen.containsWord(word), "Mot " + word + " non trouvé");
+		}
+		assertTrue(frozen.containsWord("été"));
+		for (String word : new String[] {"AID", "AI", "AIDES", "MOT", "E"}) {
+			assertFalse(frozen.containsWord(word), "Mot " + word + " inexistant trouvé");
+		}
+		assertFalse(frozen.containsWord(null));
+	}
+
+	@Test
+	void containsPrefix_General() {
+		for (String word : new String[] {"", "A", "AI", "AID", "AS", "AU", "AUX", "AIDE", "B", "BU", "BUS", "BUT", "E", "ET", "ETE"}) {
+			assertTrue(frozen.containsPrefix(word), "Mot " + word + " non trouvé");
+		}
+		for (String word : new String[] {"AB", "AIDES", "IDE", "C", "UX"}) {
+			assertFalse(frozen.containsPrefix(word), "Mot " + word + " inexistant trouvé");
+		}
+	}
+
+	@Test
+	void getWords_SameAsTree() {
+		assertArrayEquals(EXPECTED_WORDS, frozen.getWords("").toArray());
+		assertEquals(DICT.getWords(null), frozen.getWords(null));
+		assertEquals(DICT.getWords("BU"), frozen.getWords("BU"));
+		assertEquals(DICT.getWords("X"), frozen.getWords("X"));
+		assertEquals(DICT.getWords("*-/*/"), frozen.getWords("*-/*/"));
+	}
+
+	@Test
+	void getWordsOfLength_SameAsTree() {
+		for (int length = -1; length <= 5; length++) {
+			assertEquals(DICT.getWordsOfLength(length), frozen.getWordsOfLength(length));
+		}
+	}
+
+	@Test
+	void cursor_General() {
+		TrieCursor cursor = frozen.cursor();
+		assertTrue(cursor.push('A'));
+		assertTrue(cursor.push('u'));
+		assertTrue(cursor.isWord());
+		assertTrue(cursor.hasChildren());
+		assertTrue(cursor.push('X'));
+		assertFalse(cursor.hasChildren());
+		assertFalse(cursor.push('E'));
+		assertEquals(3, cursor.depth());
+		cursor.reset();
+		assertFalse(cursor.isWord());
+		assertThrows(IllegalStateException.class, () -> cursor.pop());
+	}
+
+	@Test
+	void freeze_MergesSuffixes() {
+		// BUS, AS share the final S, AUX is the only X
+		assertTrue(frozen.nodeCount() < frozen.sourceNodeCount());
+	}
+
+	@Test
+	void freeze_IgnoresLaterInsertions() {
+		LexicographicTree dict = new LexicographicTree();
+		dict.insertWord("CHAT");
+		FrozenLexicon lexicon = dict.freeze();
+		dict.insertWord("CHIEN");
+		assertEquals(1, lexicon.size());
+		assertFalse(lexicon.containsWord("CHIEN"));
+	}
+
+	@Test
+	void freeze_FullDictionary() {
+		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		FrozenLexicon lexicon = dict.freeze();
+		assertEquals(dict.size(), lexicon.size());
+		assertEquals(dict.getWords(""), lexicon.getWords(""));
+		assertEquals(dict.getWordsOfLength(7), lexicon.getWordsOfLength(7));
+		assertTrue(lexicon.nodeCount() * 4 < lexicon.sourceNodeCount());
+	}
+}
@@ -3,10 +3,24 @@ package tree;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
 
 public class LexicographicTreeTest {
 	private static final String[] WORDS = new String[] {"BUT", "ET", "été", "aide", "AS", "Au", "AuX",
@@ -69,6 +83,7 @@ public class LexicographicTreeTest {
 		
 		assertEquals(3, DICT.getWords("BU").size());
 		assertArrayEquals(new String[] {"BU", "BUS", "BUT"}, DICT.getWords("BU").toArray());
+		assertArrayEquals(new String[] {"BUT"}, DICT.getWords("BUT").toArray());
 	}
 
 	@Test
@@ -77,12 +92,556 @@ public class LexicographicTreeTest {
 		assertArrayEquals(new String[] {"AUX", "BUS", "BUT", "ETE"}, DICT.getWordsOfLength(3).toArray());
 	}
 	
+	@Test
+	void cursor_PushPop() {
+		TrieCursor cursor = DICT.cursor();
+		assertEquals(0, cursor.depth());
+		assertTrue(cursor.hasChildren());
+		assertTrue(cursor.push('b'));
+		assertTrue(cursor.push('U'));
+		assertTrue(cursor.isWord());
+		assertFalse(cursor.push('X'));
+		assertEquals(2, cursor.depth());
+		assertTrue(cursor.push('s'));
+		assertTrue(cursor.isWord());
+		assertFalse(cursor.hasChildren());
+		cursor.pop();
+		cursor.pop();
+		assertEquals(1, cursor.depth());
+		cursor.reset();
+		assertEquals(0, cursor.depth());
+		assertTrue(cursor.push('é'));
+		assertFalse(cursor.isWord());
+		cursor.reset();
+		assertThrows(IllegalStateException.class, () -> cursor.pop());
+	}
+	
+	@Test
+	void cursor_SameAsContainsWord() {
+		for (String word : new String[] {"AIDE", "AID", "ETE", "ETES", "BUT", "X"}) {
+			TrieCursor cursor = DICT.cursor();
+			boolean present = true;
+			for (int i = 0; i < word.length() && present; i++) {
+				present = cursor.push(word.charAt(i));
+			}
+			assertEquals(DICT.containsPrefix(word), present, word);
+			assertEquals(DICT.containsWord(word), present && cursor.isWord(), word);
+		}
+	}
+	
+	@Test
+	void countWords_General() {
+		assertEquals(EXPECTED_WORDS.length, DICT.countWords(""));
+		assertEquals(EXPECTED_WORDS.length, DICT.countWords(null));
+		assertEquals(4, DICT.countWords("A"));
+		assertEquals(3, DICT.countWords("bu"));
+		assertEquals(1, DICT.countWords("été"));
+		assertEquals(0, DICT.countWords("X"));
+	}
+	
+	@Test
+	void countWords_IgnoresEmptyWordAndDuplicates() {
+		LexicographicTree dict = new LexicographicTree();
+		dict.insertWord("");
+		dict.insertWord("AS");
+		dict.insertWord("as");
+		dict.insertWord("ASE");
+		assertEquals(3, dict.size());
+		assertEquals(2, dict.countWords(""));
+		assertEquals(2, dict.countWords("AS"));
+	}
+	
+	@Test
+	void getWordsPage_General() {
+		assertArrayEquals(new String[] {"AIDE", "AS", "AU"}, DICT.getWords("", 0, 3).toArray());
+		assertArrayEquals(new String[] {"AUX", "BU", "BUS"}, DICT.getWords("", 3, 3).toArray());
+		assertArrayEquals(new String[] {"ET", "ETE"}, DICT.getWords("", 7, 3).toArray());
+		assertArrayEquals(new String[] {"BUS", "BUT"}, DICT.getWords("BU", 1, 5).toArray());
+		assertEquals(0, DICT.getWords("", 9, 3).size());
+		assertEquals(0, DICT.getWords("X", 0, 3).size());
+		assertEquals(0, DICT.getWords("A", 0, 0).size());
+		assertThrows(IllegalArgumentException.class, () -> DICT.getWords("", -1, 3));
+	}
+	
+	@Test
+	void getWordsPage_SameAsGetWords() {
+		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		List<String> all = dict.getWords("PR");
+		assertEquals(all.size(), dict.countWords("PR"));
+		for (int offset = 0; offset < all.size(); offset += 997) {
+			assertEquals(all.subList(offset, Math.min(offset + 50, all.size())), dict.getWords("PR", offset, 50));
+		}
+		assertEquals(dict.size(), dict.countWords(""));
+		assertEquals(dict.size(), new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt", true).countWords(""));
+	}
+	
+	@Test
+	void words_SameAsGetWords() {
+		for (String prefix : new String[] {"", "A", "BU", "BUT", "été", "X", "*-/*/"}) {
+			assertEquals(DICT.getWords(prefix), DICT.words(prefix).collect(Collectors.toList()), prefix);
+		}
+		assertEquals(DICT.getWords(null), DICT.words(null).collect(Collectors.toList()));
+		for (int length = -1; length <= 5; length++) {
+			assertEquals(DICT.getWordsOfLength(length), DICT.wordsOfLength(length).collect(Collectors.toList()));
+		}
+	}
+	
+	@Test
+	void words_Lazy() {
+		assertEquals(List.of("AIDE", "AS"), DICT.words("").limit(2).collect(Collectors.toList()));
+		assertEquals(EXPECTED_WORDS.length, DICT.words("").spliterator().getExactSizeIfKnown());
+	}
+	
+	@Test
+	void words_ParallelSameAsSerial() {
+		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		assertEquals(dict.getWords(""), dict.words("").parallel().collect(Collectors.toList()));
+		assertEquals(dict.getWords("CO"), dict.words("CO").parallel().collect(Collectors.toList()));
+		assertEquals(dict.getWordsOfLength(6), dict.wordsOfLength(6).parallel().collect(Collectors.toList()));
+		
+		Spliterator<String> spliterator = dict.words("").spliterator();
+		Spliterator<String> first = spliterator.trySplit();
+		assertNotNull(first);
+		assertEquals(dict.size(), first.estimateSize() + spliterator.estimateSize());
+	}
+	
 	@Test
 	void filenameConstructorIsOk() {
 		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
 		assertTrue(dict.size() == 327956);
 	}
 	
+	@Test
+	void parallelConstructorSameAsSerial() {
+		LexicographicTree serial = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		LexicographicTree parallel = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt", true);
+		assertEquals(serial.size(), parallel.size());
+		assertEquals(serial.getWords(""), parallel.getWords(""));
+		for (int length = 1; length <= 28; length++) {
+			assertEquals(serial.getWordsOfLength(length), parallel.getWordsOfLength(length));
+		}
+	}
+	
+	@Test
+	void parallelConstructorLineEndings(@TempDir Path dossier) throws IOException {
+		Path file = dossier.resolve("mots.txt");
+		Files.writeString(file, "été\r\nñu\r\n   \nbus\rAu\n\n42\naux");
+		LexicographicTree serial = new LexicographicTree(file.toString());
+		LexicographicTree parallel = new LexicographicTree(file.toString(), true);
+		assertEquals(serial.size(), parallel.size());
+		assertEquals(serial.containsWord(""), parallel.containsWord(""));
+		assertEquals(serial.getWords(""), parallel.getWords(""));
+	}
+	
+	@Test
+	void byteLoaderSameAsReadLine() throws IOException {
+		Path file = Path.of("mots/dictionnaire_FR_avec_accents.txt");
+		LexicographicTree expected = readLineTree(file);
+		LexicographicTree dict = new LexicographicTree(file.toString());
+		assertEquals(expected.size(), dict.size());
+		assertEquals(expected.getWords(""), dict.getWords(""));
+	}
+	
+	@Test
+	void byteLoaderSpecialCharacters(@TempDir Path dossier) throws IOException {
+		Path file = dossier.resolve("mots.txt");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		bytes.write("\uFEFFÉté\r\nİstanbul\nΣΊΣΥΦΟΣ\nstraße\n\t  \n42\n\nl'œuf-dur\n\uD835\uDC9Cbc\nÀ bientôt\r".getBytes(StandardCharsets.UTF_8));
+		// séquences invalides : octet isolé, encodage trop long, séquence coupée par la fin de ligne
+		bytes.write(new byte[] {'a', (byte) 0x80, 'b', '\n', (byte) 0xC1, (byte) 0x81, 'c', '\n', 'd', (byte) 0xE2, (byte) 0x82, '\n', (byte) 0xFF, '\n'});
+		// un 'é' et un "\r\n" à cheval sur deux blocs de lecture
+		while (bytes.size() < (1 << 16) - 1) {
+			bytes.write(bytes.size() % 40 == 0 ? '\n' : '-');
+		}
+		bytes.write(new byte[] {(byte) 0xC3, (byte) 0xA9, 'x', '\n'});
+		while (bytes.size() < (1 << 17) - 1) {
+			bytes.write(bytes.size() % 30 == 0 ? '\n' : 'z');
+		}
+		bytes.write(new byte[] {'\r', '\n', 'f', 'i', 'n', (byte) 0xC3});
+		Files.write(file, bytes.toByteArray());
+		
+		LexicographicTree expected = readLineTree(file);
+		LexicographicTree dict = new LexicographicTree(file.toString());
+		assertEquals(expected.size(), dict.size());
+		assertEquals(expected.containsWord(""), dict.containsWord(""));
+		assertEquals(expected.getWords(""), dict.getWords(""));
+		assertEquals(expected.countWords(""), dict.countWords(""));
+	}
+	
+	private static LexicographicTree readLineTree(Path file) throws IOException {
+		LexicographicTree dict = new LexicographicTree();
+		// même décodeur que FileReader, qui remplace les séquences invalides
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8))) {
+			String line = reader.readLine();
+			while (line != null) {
+				dict.insertWord(line);
+				line = reader.readLine();
+			}
+		}
+		return dict;
+	}
+	
+	@Test
+	void parallelConstructorBadFile() {
+		assertEquals(0, new LexicographicTree("nope", true).size());
+	}
+	
+	@Test
+	void containsAll_General() {
+		String[] words = new String[] {"BUT", "BUTS", "B", "été", null, "aide", "AIDES", "", "AU", "AUX", "AB", "ABC", "bu", "BUT"};
+		BitSet found = DICT.containsAll(words);
+		for (int i = 0; i < words.length; i++) {
+			assertEquals(DICT.containsWord(words[i]), found.get(i), "Mot " + words[i]);
+		}
+		assertTrue(DICT.containsAll(new String[0]).isEmpty());
+	}
+	
+	@Test
+	void containsAll_SameAsContainsWord() {
+		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		List<String> all = dict.getWords("");
+		Random random = new Random(42);
+		String[] words = new String[10000];
+		for (int i = 0; i < words.length; i++) {
+			String word = all.get(random.nextInt(all.size())).toLowerCase();
+			words[i] = random.nextBoolean() ? word : word.substring(0, random.nextInt(word.length() + 1)) + "zq";
+		}
+		BitSet found = dict.containsAll(words);
+		for (int i = 0; i < words.length; i++) {
+			assertEquals(dict.containsWord(words[i]), found.get(i), "Mot " + words[i]);
+		}
+	}
+	
+	@Test
+	void removeWord_General() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		assertTrue(dict.removeWord("bu"));
+		assertFalse(dict.containsWord("BU"));
+		assertTrue(dict.containsWord("BUS"));
+		assertTrue(dict.containsPrefix("BU"));
+		assertFalse(dict.removeWord("BU"));
+		assertTrue(dict.removeWord("été"));
+		assertTrue(dict.containsWord("ET"));
+		assertFalse(dict.containsPrefix("ETE"));
+		assertTrue(dict.removeWord("aide"));
+		assertFalse(dict.containsPrefix("AI"));
+		assertFalse(dict.removeWord("AUXX"));
+		assertFalse(dict.removeWord("A"));
+		assertFalse(dict.removeWord(null));
+		assertEquals(WORDS.length - 3, dict.size());
+		assertArrayEquals(new String[] {"AS", "AU", "AUX", "BUS", "BUT", "ET"}, dict.getWords("").toArray());
+		assertEquals(3, dict.countWords("A"));
+		assertEquals(6, dict.countWords(""));
+		dict.insertWord("AIDE");
+		assertTrue(dict.containsWord("AIDE"));
+		assertEquals(WORDS.length - 2, dict.size());
+	}
+	
+	@Test
+	void removeWord_LettersOutsideAlphabet() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : new String[] {"ñu", "ñandou", "œuf", "zèbre", "a-b"}) {
+			dict.insertWord(word);
+		}
+		assertTrue(dict.removeWord("ñandou"));
+		assertTrue(dict.removeWord("a-b"));
+		assertArrayEquals(new String[] {"ZEBRE", "ÑU", "ŒUF"}, dict.getWords("").toArray());
+		dict.insertWord("ænigme");
+		assertArrayEquals(new String[] {"ZEBRE", "ÆNIGME", "ÑU", "ŒUF"}, dict.getWords("").toArray());
+		assertTrue(dict.removeWord("ŒUF"));
+		assertTrue(dict.removeWord("ñu"));
+		assertTrue(dict.removeWord("zebre"));
+		assertTrue(dict.removeWord("ÆNIGME"));
+		assertEquals(0, dict.size());
+		assertFalse(dict.containsPrefix("Z"));
+	}
+	
+	@Test
+	void removeWord_SameAsNeverInserted() {
+		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		List<String> all = dict.getWords("");
+		LexicographicTree kept = new LexicographicTree();
+		Random random = new Random(7);
+		for (String word : all) {
+			if (random.nextInt(3) == 0) {
+				assertTrue(dict.removeWord(word), word);
+			}else {
+				kept.insertWord(word);
+			}
+		}
+		dict.compact();
+		assertEquals(kept.size(), dict.size());
+		assertEquals(kept.getWords(""), dict.getWords(""));
+		for (String prefix : new String[] {"", "A", "MAI", "CONST", "ZY"}) {
+			assertEquals(kept.countWords(prefix), dict.countWords(prefix), prefix);
+			assertEquals(kept.getWords(prefix, 10, 5), dict.getWords(prefix, 10, 5), prefix);
+		}
+		assertEquals(kept.freeze().nodeCount(), dict.freeze().nodeCount());
+		assertEquals(kept.freeze().sourceNodeCount(), dict.freeze().sourceNodeCount());
+	}
+	
+	@Test
+	void compact_KeepsWords() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		dict.compact();
+		assertArrayEquals(EXPECTED_WORDS, dict.getWords("").toArray());
+		dict.insertWord("AUXI");
+		dict.insertWord("AZ");
+		assertTrue(dict.containsWord("AUXI"));
+		assertEquals(List.of("AIDE", "AS", "AU", "AUX", "AUXI", "AZ"), dict.getWords("A"));
+	}
+	
+	@Test
+	void stats_Shape() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		dict.compact();
+		TreeStats stats = dict.stats();
+		assertEquals(15, stats.nodeCount());
+		assertEquals(WORDS.length, stats.endWordCount());
+		assertArrayEquals(new long[] {6, 6, 1, 2}, stats.fanOutHistogram());
+		assertArrayEquals(new long[] {1, 3, 5, 5, 1}, stats.depthHistogram());
+		assertEquals(14, stats.usedChildSlots());
+		assertEquals(14, stats.childSlots());
+		// 15 noeuds de 32 octets, deux tableaux de 3 cases, un de 2 et six de 1
+		assertEquals(15 * 32 + 2 * 32 + 24 + 6 * 24, stats.estimatedHeapBytes());
+	}
+	
+	@Test
+	void stats_CachedUntilModified() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		TreeStats stats = dict.stats();
+		assertSame(stats, dict.stats());
+		dict.insertWord("AS");
+		assertSame(stats, dict.stats());
+		dict.insertWord("ASE");
+		TreeStats inserted = dict.stats();
+		assertNotSame(stats, inserted);
+		assertEquals(16, inserted.nodeCount());
+		dict.removeWord("ASE");
+		assertEquals(15, dict.stats().nodeCount());
+		assertTrue(dict.stats().childSlots() >= dict.stats().usedChildSlots());
+		assertEquals(1, new LexicographicTree().stats().nodeCount());
+	}
+	
+	@Test
+	void jumpTable_FollowsInsertAndRemove() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		dict.setJumpTableDepth(2);
+		assertEquals(16 + 16 + 784 * 4, dict.jumpTableBytes());
+		for (String word : EXPECTED_WORDS) {
+			assertTrue(dict.containsWord(word), "Mot " + word + " non trouvé");
+		}
+		assertTrue(dict.containsWord("été"));
+		assertTrue(dict.containsPrefix("AI"));
+		assertFalse(dict.containsWord("AI"));
+		assertFalse(dict.containsPrefix("AB"));
+		dict.insertWord("abri");
+		dict.insertWord("œuf");
+		assertTrue(dict.containsWord("ABRI"));
+		assertTrue(dict.containsPrefix("AB"));
+		assertTrue(dict.containsWord("ŒUF"));
+		dict.removeWord("ABRI");
+		assertFalse(dict.containsPrefix("AB"));
+		assertFalse(dict.containsWord("ABRI"));
+		dict.setJumpTableDepth(3);
+		assertTrue(dict.containsWord("AIDE"));
+		assertTrue(dict.containsPrefix("AU"));
+		dict.setJumpTableDepth(0);
+		assertEquals(0, dict.jumpTableBytes());
+		assertThrows(IllegalArgumentException.class, () -> dict.setJumpTableDepth(4));
+	}
+	
+	@Test
+	void jumpTable_SameAsContainsWord() {
+		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		String[] words = dict.getWords("").stream().flatMap(word -> Stream.of(word, word + "xx", word.substring(0, Math.min(2, word.length())))).toArray(String[]::new);
+		BitSet found = dict.containsAll(words);
+		dict.setJumpTableDepth(3);
+		for (int i = 0; i < words.length; i++) {
+			assertEquals(found.get(i), dict.containsWord(words[i]), words[i]);
+		}
+	}
+	
+	@Test
+	void visitWords_General() {
+		List<String> visited = new ArrayList<>();
+		DICT.visitWords("", (word, length) -> {
+			visited.add(new String(word, 0, length));
+			return WordVisitor.Result.CONTINUE;
+		});
+		assertArrayEquals(EXPECTED_WORDS, visited.toArray());
+		
+		visited.clear();
+		DICT.visitWords("bu", (word, length) -> {
+			visited.add(new String(word, 0, length));
+			return WordVisitor.Result.CONTINUE;
+		});
+		assertEquals(List.of("BU", "BUS", "BUT"), visited);
+	}
+	
+	@Test
+	void visitWords_SkipAndTerminate() {
+		List<String> visited = new ArrayList<>();
+		DICT.visitWords(null, new WordVisitor() {
+			@Override
+			public Result preVisitPrefix(char[] prefix, int length) {
+				return prefix[0] == 'E' ? Result.TERMINATE : Result.CONTINUE;
+			}
+			
+			@Override
+			public Result visitWord(char[] word, int length) {
+				visited.add(new String(word, 0, length));
+				return length == 2 ? Result.SKIP_SUBTREE : Result.CONTINUE;
+			}
+		});
+		assertEquals(List.of("AIDE", "AS", "AU", "BU"), visited);
+		
+		visited.clear();
+		DICT.visitWords("", new WordVisitor() {
+			@Override
+			public Result preVisitPrefix(char[] prefix, int length) {
+				return length == 2 && prefix[1] == 'I' ? Result.SKIP_SUBTREE : Result.CONTINUE;
+			}
+			
+			@Override
+			public Result visitWord(char[] word, int length) {
+				visited.add(new String(word, 0, length));
+				return Result.CONTINUE;
+			}
+		});
+		assertEquals(List.of("AS", "AU", "AUX", "BU", "BUS", "BUT", "ET", "ETE"), visited);
+	}
+	
+	@Test
+	void visitWords_NoAllocationPerWord() {
+		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+		Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		long[] hash = new long[2];
+		WordVisitor visitor = (word, length) -> {
+			hash[0]++;
+			for (int i = 0; i < length; i++) {
+				hash[1] = hash[1] * 31 + word[i];
+			}
+			return WordVisitor.Result.CONTINUE;
+		};
+		dict.visitWords("", visitor);
+		long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+		hash[0] = 0;
+		dict.visitWords("", visitor);
+		long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+		assertEquals(dict.size(), hash[0]);
+		assertTrue(allocated < 64 * 1024, "Allocated bytes : " + allocated);
+	}
+	
+	@Test
+	void match_Wildcards() {
+		assertEquals(List.of("BUS", "BUT"), DICT.match("BU?").collect(Collectors.toList()));
+		assertEquals(List.of("BU", "BUS", "BUT"), DICT.match("b*").collect(Collectors.toList()));
+		assertEquals(List.of("AIDE", "ETE"), DICT.match("*e").collect(Collectors.toList()));
+		assertEquals(List.of("AS", "AU", "BU", "ET"), DICT.match("??").collect(Collectors.toList()));
+		assertEquals(List.of("AUX", "BUS", "BUT"), DICT.match("?U*?").collect(Collectors.toList()));
+		assertEquals(DICT.getWords(""), DICT.match("**").collect(Collectors.toList()));
+		assertEquals(List.of("ETE"), DICT.match("été").collect(Collectors.toList()));
+		assertEquals(0, DICT.match("?").count());
+		assertEquals(0, DICT.match("").count());
+	}
+	
+	@Test
+	void match_LetterSets() {
+		assertEquals(List.of("AS", "AU", "BU"), DICT.match("[AB][SU]").collect(Collectors.toList()));
+		assertEquals(List.of("BUS"), DICT.match("BU[^T]").collect(Collectors.toList()));
+		assertEquals(List.of("AUX", "BUS", "BUT"), DICT.match("[^E]??").collect(Collectors.toList()));
+		assertThrows(IllegalArgumentException.class, () -> DICT.match("BU[ST"));
+		assertThrows(IllegalArgumentException.class, () -> DICT.match("BU[]"));
+		assertThrows(IllegalArgumentException.class, () -> DICT.match((String) null));
+	}
+	
+	@Test
+	void match_PerPositionSets() {
+		WordPattern pattern = WordPattern.ofPositions("B", null, "ST");
+		assertEquals(List.of("BUS", "BUT"), DICT.match(pattern).collect(Collectors.toList()));
+		assertTrue(pattern.matches("but"));
+		assertFalse(pattern.matches("BUX"));
+		assertFalse(pattern.matches("BUTS"));
+		assertEquals(List.of("AU", "BU"), DICT.match(WordPattern.ofPositions("", "u")).collect(Collectors.toList()));
+	}
+	
+	@Test
+	void match_SameAsFilter() {
+		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		for (String glob : new String[] {"B?T*", "??ISON", "*TION", "[^AEIOU]*Z", "*'*", "ÑU*"}) {
+			WordPattern pattern = WordPattern.compile(glob);
+			List<String> expected = dict.getWords("").stream().filter(pattern::matches).collect(Collectors.toList());
+			assertEquals(expected, dict.match(pattern).collect(Collectors.toList()), glob);
+		}
+	}
+	
+	@Test
+	void fuzzyMatch_General() {
+		assertEquals(List.of("BUT"), DICT.fuzzyMatch("BUT", 0));
+		assertEquals(List.of("BU", "BUS", "BUT"), DICT.fuzzyMatch("but", 1));
+		assertEquals(List.of("AS", "AU", "BU", "BUS", "BUT", "ET", "ETE"), DICT.fuzzyMatch("bt", 2));
+		assertEquals(List.of("AIDE"), DICT.fuzzyMatch("AIED", 2));
+		assertEquals(List.of("ETE"), DICT.fuzzyMatch("été", 0));
+		assertEquals(List.of("AS", "AU", "BU", "ET"), DICT.fuzzyMatch("", 2));
+		assertEquals(DICT.getWords(""), DICT.fuzzyMatch("X", Integer.MAX_VALUE));
+		assertEquals(0, DICT.fuzzyMatch(null, 1).size());
+		assertThrows(IllegalArgumentException.class, () -> DICT.fuzzyMatch("BUT", -1));
+	}
+	
+	@Test
+	void fuzzyMatch_SameAsDistance() {
+		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		List<String> words = dict.getWords("");
+		for (String word : new String[] {"MAISON", "ORDINATER", "XYZ", "A"}) {
+			for (int k = 1; k <= 2; k++) {
+				final int maxEdits = k;
+				List<String> expected = words.stream().filter(w -> distance(w, word) <= maxEdits).collect(Collectors.toList());
+				assertEquals(expected, dict.fuzzyMatch(word, k), word + " " + k);
+			}
+		}
+	}
+	
+	private static int distance(String a, String b) {
+		int[] ligne = new int[b.length() + 1];
+		for (int j = 0; j <= b.length(); j++) {
+			ligne[j] = j;
+		}
+		for (int i = 1; i <= a.length(); i++) {
+			int diagonale = ligne[0];
+			ligne[0] = i;
+			for (int j = 1; j <= b.length(); j++) {
+				int haut = ligne[j];
+				ligne[j] = Math.min(Math.min(haut, ligne[j - 1]) + 1, diagonale + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1));
+				diagonale = haut;
+			}
+		}
+		return ligne[b.length()];
+	}
+	
+	@Test
+	void match_IsLazy() {
+		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		assertEquals(dict.getWords("A").subList(0, 2), dict.match("A*").limit(2).collect(Collectors.toList()));
+	}
+	
 	@Test
 	void getWordsOfLengthWithSpecialNumber() {
 		assertEquals(0, DICT.getWordsOfLength(99999999).size());
@@ -272,6 +831,40 @@ public class LexicographicTreeTest {
 			assertEquals(words, dict.getWords(null));
 		}
 		
+		@Test
+		void insertWordWithLetterOutsideAlphabet() {
+			// Given
+			LexicographicTree dict = new LexicographicTree();
+			
+			// When
+			dict.insertWord("ñu");
+			dict.insertWord("nu");
+			dict.insertWord("-u");
+			
+			// Then
+			assertEquals(3, dict.size());
+			assertTrue(dict.containsWord("ÑU"));
+			assertTrue(dict.containsWord("NU"));
+			assertTrue(dict.containsWord("-U"));
+			assertFalse(dict.containsWord("Ñ"));
+			assertTrue(dict.containsPrefix("Ñ"));
+		}
+		
+		@Test
+		void getWordsWithLettersOutsideAlphabetInOrder() {
+			// Given
+			LexicographicTree dict = new LexicographicTree();
+			
+			// When
+			for (String word : new String[] {"œuf", "ñu", "zèbre", "æther", "ñandou", "a-b", "ab", "a'b"}) {
+				dict.insertWord(word);
+			}
+			
+			// Then
+			assertArrayEquals(new String[] {"A'B", "A-B", "AB", "ZEBRE", "ÆTHER", "ÑANDOU", "ÑU", "ŒUF"}, dict.getWords("").toArray());
+			assertEquals(dict.getWords(""), dict.words("").collect(Collectors.toList()));
+		}
+		
 		@Test
 		void getWordsInAlphabeticalOrdrerByLength() {
 			// Given
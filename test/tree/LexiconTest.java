@@ -0,0 +1,112 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * Vérifications communes aux implémentations de Lexicon, comparées à
+ * LexicographicTree. La classe de test de chaque implémentation en hérite,
+ * fournit la construction du dictionnaire et ne garde que ce qui lui est
+ * propre.
+ */
+abstract class LexiconTest<L extends Lexicon> {
+	static final String[] WORDS = new String[] {"BUT", "ET", "été", "aide", "AS", "Au", "AuX",
+			"BU", "bus"};
+	static final String[] EXPECTED_WORDS = new String[] {"AIDE", "AS", "AU", "AUX",
+			"BU", "BUS", "BUT", "ET", "ETE"};
+
+	/**
+	 * construit un dictionnaire de l'implémentation testée
+	 * @param words
+	 * 		lignes à insérer, dans l'ordre
+	 * @return le dictionnaire
+	 */
+	abstract L creer(String... words);
+
+	/**
+	 * construit l'arbre de référence
+	 * @param words
+	 * 		lignes à insérer, dans l'ordre
+	 * @return l'arbre
+	 */
+	static LexicographicTree reference(String... words) {
+		LexicographicTree tree = new LexicographicTree();
+		for (String word : words) {
+			tree.insertWord(word);
+		}
+		return tree;
+	}
+
+	@Test
+	void containsWord_General() {
+		L dict = creer(WORDS);
+		assertEquals(WORDS.length, dict.size());
+		for (String word : EXPECTED_WORDS) {
+			assertTrue(dict.containsWord(word), "Mot " + word + " non trouvé");
+		}
+		assertTrue(dict.containsWord("été"));
+		for (String word : new String[] {"AID", "AI", "AIDES", "MOT", "E", "A1", ""}) {
+			assertFalse(dict.containsWord(word), "Mot " + word + " inexistant trouvé");
+		}
+		assertFalse(dict.containsWord(null));
+	}
+
+	@Test
+	void containsPrefix_General() {
+		L dict = creer(WORDS);
+		for (String word : new String[] {"", "A", "AI", "AID", "AS", "AU", "AUX", "AIDE", "B", "BU", "BUS", "BUT", "E", "ET", "ETE"}) {
+			assertTrue(dict.containsPrefix(word), "Mot " + word + " non trouvé");
+		}
+		for (String word : new String[] {"AB", "AIDES", "IDE", "C", "UX"}) {
+			assertFalse(dict.containsPrefix(word), "Mot " + word + " inexistant trouvé");
+		}
+		assertFalse(dict.containsPrefix(null));
+	}
+
+	@Test
+	void getWords_SameAsTree() {
+		L dict = creer(WORDS);
+		LexicographicTree tree = reference(WORDS);
+		assertArrayEquals(EXPECTED_WORDS, dict.getWords("").toArray());
+		assertEquals(List.of("AIDE"), dict.getWords("AI"));
+		assertEquals(List.of("BU", "BUS", "BUT"), dict.getWords("bu"));
+		assertTrue(dict.getWords("X").isEmpty());
+		assertEquals(tree.getWords(null), dict.getWords(null));
+		for (int length = -1; length <= 5; length++) {
+			assertEquals(tree.getWordsOfLength(length), dict.getWordsOfLength(length), "Longueur " + length);
+		}
+	}
+
+	@Test
+	void cursor_General() {
+		TrieCursor cursor = creer(WORDS).cursor();
+		assertTrue(cursor.push('a'));
+		assertTrue(cursor.push('U'));
+		assertTrue(cursor.isWord());
+		assertTrue(cursor.hasChildren());
+		assertFalse(cursor.push('E'));
+		assertTrue(cursor.push('X'));
+		assertTrue(cursor.isWord());
+		assertFalse(cursor.hasChildren());
+		assertEquals(3, cursor.depth());
+		cursor.reset();
+		assertFalse(cursor.isWord());
+		assertThrows(IllegalStateException.class, () -> cursor.pop());
+	}
+
+	@Test
+	void insertWord_NoLetterLineSameAsTree() {
+		// une ligne non vide sans lettre marque la racine ; une ligne blanche est ignorée
+		for (String line : new String[] {"42", " 4 ", "-", "   ", ""}) {
+			L dict = creer(line);
+			LexicographicTree tree = reference(line);
+			assertEquals(tree.size(), dict.size(), "'" + line + "'");
+			assertEquals(tree.containsWord(""), dict.containsWord(""), "'" + line + "'");
+			assertEquals(tree.getWords(""), dict.getWords(""), "'" + line + "'");
+		}
+		assertEquals(1, creer("42", "   ", "été").getWordsOfLength(3).size());
+		assertTrue(creer("42", "été").containsWord(""));
+	}
+}
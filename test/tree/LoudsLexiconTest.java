@@ -0,0 +1,61 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+public class LoudsLexiconTest extends LexiconTest<LoudsLexicon> {
+
+	@Override
+	LoudsLexicon creer(String... words) {
+		return reference(words).toLouds();
+	}
+
+	@Test
+	void toLouds_EmptyTree() {
+		LoudsLexicon empty = new LexicographicTree().toLouds();
+		assertEquals(0, empty.size());
+		assertEquals(1, empty.nodeCount());
+		assertTrue(empty.containsPrefix(""));
+		assertFalse(empty.containsWord("A"));
+		assertTrue(empty.getWords("").isEmpty());
+	}
+
+	@Test
+	void vecteurBits_RankSelect() {
+		Random random = new Random(3);
+		int longueur = 5000;
+		long[] mots = new long[(longueur + 63) / 64];
+		boolean[] bits = new boolean[longueur];
+		for (int i = 0; i < longueur; i++) {
+			bits[i] = random.nextInt(4) != 0;
+			if (bits[i]) {
+				mots[i >>> 6] |= 1L << i;
+			}
+		}
+		VecteurBits vecteur = new VecteurBits(mots, longueur);
+		int uns = 0, zeros = 0;
+		for (int i = 0; i < longueur; i++) {
+			assertEquals(uns, vecteur.rang1(i));
+			if (bits[i]) {
+				uns++;
+			} else {
+				assertEquals(i, vecteur.selection0(zeros++));
+			}
+		}
+		assertEquals(uns, vecteur.rang1(longueur));
+	}
+
+	@Test
+	void toLouds_FullDictionary() {
+		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		LoudsLexicon lexicon = dict.toLouds();
+		assertEquals(dict.size(), lexicon.size());
+		assertEquals(dict.stats().nodeCount(), lexicon.nodeCount());
+		assertEquals(dict.getWords(""), lexicon.getWords(""));
+		assertEquals(dict.getWords("CONST"), lexicon.getWords("CONST"));
+		assertEquals(dict.getWordsOfLength(7), lexicon.getWordsOfLength(7));
+		assertTrue(lexicon.estimatedHeapBytes() * 10 < dict.stats().estimatedHeapBytes());
+	}
+}
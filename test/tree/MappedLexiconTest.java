@@ -0,0 +1,140 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class MappedLexiconTest {
+	private static final String[] WORDS = new String[] {"BUT", "ET", "été", "aide", "AS", "Au", "AuX",
+			"BU", "bus"};
+	private static final String[] EXPECTED_WORDS = new String[] {"AIDE", "AS", "AU", "AUX",
+			"BU", "BUS", "BUT", "ET", "ETE"};
+
+	@TempDir
+	Path dossier;
+
+	private MappedLexicon compileAndOpen(LexicographicTree dict) throws IOException {
+		Path image = dossier.resolve("dict" + MappedLexicon.EXTENSION);
+		MappedLexicon.compile(dict, image);
+		return MappedLexicon.open(image);
+	}
+
+	@Test
+	void openCompiledImage() throws IOException {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		MappedLexicon mapped = compileAndOpen(dict);
+
+		assertEquals(WORDS.length, mapped.size());
+		for (String word : EXPECTED_WORDS) {
+			assertTrue(mapped.containsWord(word), "Mot " + word + " non trouvé");
+		}
+		for (String word : new String[] {"AID", "AI", "AIDES", "MOT", "E"}) {
+			assertFalse(mapped.containsWord(word), "Mot " + word + " inexistant trouvé");
+		}
+		assertTrue(mapped.containsPrefix("AID"));
+		assertFalse(mapped.containsPrefix("UX"));
+		assertArrayEquals(EXPECTED_WORDS, mapped.getWords("").toArray());
+		assertEquals(dict.getWords("BU"), mapped.getWords("BU"));
+		assertEquals(dict.getWordsOfLength(3), mapped.getWordsOfLength(3));
+		assertEquals(0, mapped.getWordsOfLength(-1).size());
+
+		TrieCursor cursor = mapped.cursor();
+		assertTrue(cursor.push('E'));
+		assertTrue(cursor.push('T'));
+		assertTrue(cursor.isWord());
+		assertTrue(cursor.push('é'));
+		assertFalse(cursor.hasChildren());
+		cursor.pop();
+		assertEquals(2, cursor.depth());
+	}
+
+	@Test
+	void openEmptyDictionary() throws IOException {
+		MappedLexicon mapped = compileAndOpen(new LexicographicTree());
+		assertEquals(0, mapped.size());
+		assertFalse(mapped.containsWord("A"));
+		assertEquals(0, mapped.getWords("").size());
+	}
+
+	@Test
+	void openInvalidImage() throws IOException {
+		Path image = dossier.resolve("bad" + MappedLexicon.EXTENSION);
+		Files.writeString(image, "not an image");
+		assertThrows(IOException.class, () -> MappedLexicon.open(image));
+	}
+
+	@Test
+	void loadCompilesImageOnce() throws IOException {
+		Path texte = dossier.resolve("mots.txt");
+		Files.write(texte, Arrays.asList(WORDS));
+		Lexicon first = MappedLexicon.load(texte.toString());
+		assertTrue(first instanceof MappedLexicon);
+		assertTrue(Files.exists(dossier.resolve("mots.txt" + MappedLexicon.EXTENSION)));
+		Lexicon second = MappedLexicon.load(texte.toString());
+		assertArrayEquals(EXPECTED_WORDS, second.getWords("").toArray());
+	}
+
+	@Test
+	void loadRecompilesWhenSourceChanges() throws IOException {
+		Path texte = dossier.resolve("mots.txt");
+		Files.write(texte, Arrays.asList(WORDS));
+		FileTime date = Files.getLastModifiedTime(texte);
+		assertTrue(MappedLexicon.load(texte.toString()) instanceof MappedLexicon);
+		// même date, contenu différent : l'image ne doit pas être reprise
+		Files.write(texte, Arrays.asList("ZEBRE"));
+		Files.setLastModifiedTime(texte, date);
+		assertEquals(List.of("ZEBRE"), MappedLexicon.load(texte.toString()).getWords(""));
+	}
+
+	@Test
+	void loadIgnoresImageWithoutSource() throws IOException {
+		Path texte = dossier.resolve("mots.txt");
+		Files.write(texte, Arrays.asList(WORDS));
+		MappedLexicon.compile(new LexicographicTree(), dossier.resolve("mots.txt" + MappedLexicon.EXTENSION));
+		assertArrayEquals(EXPECTED_WORDS, MappedLexicon.load(texte.toString()).getWords("").toArray());
+	}
+
+	@Test
+	void loadMissingFileKeepsNoImage() throws IOException {
+		Path texte = dossier.resolve("absent.txt");
+		Lexicon dict = MappedLexicon.load(texte.toString());
+		assertFalse(dict instanceof MappedLexicon);
+		assertEquals(0, dict.size());
+		assertFalse(Files.exists(dossier.resolve("absent.txt" + MappedLexicon.EXTENSION)));
+		assertThrows(IOException.class, () -> MappedLexicon.compile(new LexicographicTree(), 
+				dossier.resolve("absent.txt" + MappedLexicon.EXTENSION), texte));
+	}
+
+	@Test
+	void compileFailureRemovesTemporaryFile() throws IOException {
+		// un dossier non vide ne peut pas être remplacé par l'image
+		Path image = dossier.resolve("dict" + MappedLexicon.EXTENSION);
+		Files.createDirectories(image.resolve("occupe"));
+		assertThrows(IOException.class, () -> MappedLexicon.compile(new LexicographicTree(), image));
+		try(Stream<Path> fichiers = Files.list(dossier)) {
+			assertEquals(List.of(image), fichiers.collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	void fullDictionarySameAsTree() throws IOException {
+		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		MappedLexicon mapped = compileAndOpen(dict);
+		assertEquals(dict.size(), mapped.size());
+		assertEquals(dict.getWords(""), mapped.getWords(""));
+		assertEquals(dict.getWordsOfLength(9), mapped.getWordsOfLength(9));
+	}
+}
@@ -0,0 +1,55 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class OffHeapLexicographicTreeTest extends LexiconTest<OffHeapLexicographicTree> {
+
+	@Override
+	OffHeapLexicographicTree creer(String... words) {
+		OffHeapLexicographicTree dict = new OffHeapLexicographicTree();
+		for (String word : words) {
+			dict.insertWord(word);
+		}
+		return dict;
+	}
+
+	@Test
+	void insertWord_GrowsSegments() {
+		OffHeapLexicographicTree dict = new OffHeapLexicographicTree();
+		CapacityHarness flux = CapacityHarness.counter("AM");
+		int words = 0;
+		while(dict.nodeCount() <= OffHeapLexicographicTree.SEGMENT_NODES) {
+			dict.insertWord(flux.genererMot(words++, null));
+		}
+		assertEquals(words, dict.size());
+		assertEquals(2L * OffHeapLexicographicTree.SEGMENT_NODES * 12, dict.offHeapBytes());
+		for (int i = 0; i < words; i += 997) {
+			assertTrue(dict.containsWord(flux.genererMot(i, null)));
+		}
+		assertTrue(dict.containsWord(flux.genererMot(words - 1, null)));
+		assertFalse(dict.containsWord(flux.genererMot(words, null)));
+	}
+
+	@Test
+	void mappedFile_SameAsTree(@TempDir Path dossier) throws IOException {
+		LexicographicTree tree = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		try(OffHeapLexicographicTree dict = new OffHeapLexicographicTree(dossier.resolve("noeuds.bin"))) {
+			for (String word : tree.getWords("")) {
+				dict.insertWord(word);
+			}
+			assertEquals(tree.size(), dict.size());
+			assertEquals(tree.stats().nodeCount(), dict.nodeCount());
+			assertEquals(tree.getWords("RALENT"), dict.getWords("RALENT"));
+			assertEquals(tree.getWordsOfLength(9), dict.getWordsOfLength(9));
+			TrieCursor cursor = dict.cursor();
+			assertTrue(cursor.push('r') && cursor.push('A'));
+			assertFalse(cursor.isWord());
+		}
+	}
+}
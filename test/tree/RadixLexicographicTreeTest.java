@@ -0,0 +1,72 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class RadixLexicographicTreeTest extends LexiconTest<RadixLexicographicTree> {
+
+	@Override
+	RadixLexicographicTree creer(String... words) {
+		RadixLexicographicTree dict = new RadixLexicographicTree();
+		for (String word : words) {
+			dict.insertWord(word);
+		}
+		return dict;
+	}
+
+	@Test
+	void insertWord_SplitsEdges() {
+		RadixLexicographicTree dict = new RadixLexicographicTree();
+		dict.insertWord("ralentissement");
+		assertEquals(2, dict.nodeCount());
+		dict.insertWord("ralentissements");
+		assertEquals(3, dict.nodeCount());
+		// coupe l'arête au milieu sans créer de mot
+		dict.insertWord("ralentir");
+		assertEquals(5, dict.nodeCount());
+		assertFalse(dict.containsWord("RALENTI"));
+		dict.insertWord("ralenti");
+		assertEquals(5, dict.nodeCount());
+		assertTrue(dict.containsWord("RALENTI"));
+		dict.insertWord("Ralenti");
+		assertEquals(4, dict.size());
+		assertEquals(List.of("RALENTI", "RALENTIR", "RALENTISSEMENT", "RALENTISSEMENTS"), dict.getWords(""));
+		dict.compact();
+		dict.insertWord("ralentie");
+		assertEquals(List.of("RALENTI", "RALENTIE", "RALENTIR"), dict.getWords("RALENTI").subList(0, 3));
+	}
+
+	@Test
+	void cursor_InsideEdge() {
+		TrieCursor cursor = creer(WORDS).cursor();
+		assertTrue(cursor.push('a'));
+		assertTrue(cursor.push('I'));
+		assertFalse(cursor.isWord());
+		assertTrue(cursor.hasChildren());
+		assertFalse(cursor.push('E'));
+		assertTrue(cursor.push('D'));
+		assertTrue(cursor.push('E'));
+		assertTrue(cursor.isWord());
+		assertFalse(cursor.hasChildren());
+		assertEquals(4, cursor.depth());
+		cursor.pop();
+		cursor.pop();
+		assertTrue(cursor.push('d'));
+		assertEquals(3, cursor.depth());
+		cursor.reset();
+		assertThrows(IllegalStateException.class, () -> cursor.pop());
+	}
+
+	@Test
+	void fileConstructor_SameAsTree() {
+		LexicographicTree tree = new LexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		RadixLexicographicTree dict = new RadixLexicographicTree("mots/dictionnaire_FR_avec_accents.txt");
+		assertEquals(tree.size(), dict.size());
+		assertEquals(tree.getWords(""), dict.getWords(""));
+		assertEquals(tree.getWords("RALENT"), dict.getWords("RALENT"));
+		assertEquals(tree.getWordsOfLength(9), dict.getWordsOfLength(9));
+		assertTrue(dict.nodeCount() * 3 < tree.stats().nodeCount() * 2);
+	}
+}